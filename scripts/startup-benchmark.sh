@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Measures the time to the first token and the resident set size after 1000 tokens of a JWT Test Kit build.
+#
+# Usage: scripts/startup-benchmark.sh <label> <command...>
+#   RUNS=5 scripts/startup-benchmark.sh jvm java -jar build/libs/JWTTestKit-1.1-SNAPSHOT-all.jar
+#   scripts/startup-benchmark.sh native build/native/nativeCompile/JWTTestKit
+#
+# Environment: RUNS (default 5), TOKENS (default 1000), PORT (default 18080), MANAGEMENT_PORT (default 18082),
+# REPORT_DIR (default build/reports/startup). Any other variable, e.g. KEYS_LAZY, is passed to the application.
+set -euo pipefail
+
+if [ "$#" -lt 2 ]; then
+    sed -n '2,9p' "$0" | sed 's/^# \{0,1\}//'
+    exit 1
+fi
+
+label=$1
+shift
+runs=${RUNS:-5}
+tokens=${TOKENS:-1000}
+port=${PORT:-18080}
+report_dir=${REPORT_DIR:-build/reports/startup}
+url="http://localhost:${port}/JWTTestKit/token"
+
+export APPLICATION_PORT=$port
+export MANAGEMENT_PORT=${MANAGEMENT_PORT:-18082}
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+rss_kb() {
+    if [ -r "/proc/$1/status" ]; then
+        awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+mkdir -p "$report_dir"
+report="$report_dir/$label.json"
+ttft_all=()
+rss_all=()
+
+for run in $(seq 1 "$runs"); do
+    start=$(now_ms)
+    "$@" > "$report_dir/$label-$run.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    until curl -sf -o /dev/null "$url"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited before serving a token, see $report_dir/$label-$run.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    ttft=$(($(now_ms) - start))
+
+    # one curl process reusing its connection for every token
+    curl -sf "$url?n=[1-$tokens]" > /dev/null
+    rss=$(rss_kb "$pid")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+
+    echo "$label run $run: time to first token ${ttft} ms, RSS after $tokens tokens $((rss / 1024)) MiB"
+    ttft_all+=("$ttft")
+    rss_all+=("$rss")
+done
+
+median() {
+    printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+ttft_median=$(median "${ttft_all[@]}")
+rss_median=$(median "${rss_all[@]}")
+printf '{"label":"%s","runs":%d,"tokens":%d,"timeToFirstTokenMs":%d,"rssKb":%d}\n' \
+    "$label" "$runs" "$tokens" "$ttft_median" "$rss_median" | tee "$report"
@@ -0,0 +1,36 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.keys.EncryptionAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.KeyRingConfiguration;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningConfiguration;
+import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import io.micronaut.context.event.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Creates the beans used by the benchmarks without starting an application context.
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static KeyRing keyRing(SigningAlgorithm algorithm, EncryptionAlgorithm... encryptionAlgorithms)
+            throws JOSEException {
+        SigningConfiguration signingConfiguration = new SigningConfiguration();
+        signingConfiguration.setAlgorithm(algorithm);
+        signingConfiguration.setEncryptionAlgorithms(List.of(encryptionAlgorithms));
+        return new KeyRing(signingConfiguration, new KeyRingConfiguration(), ApplicationEventPublisher.noOp());
+    }
+
+    static TokenSigner tokenSigner(SigningAlgorithm algorithm, EncryptionAlgorithm... encryptionAlgorithms)
+            throws JOSEException {
+        return new TokenSigner(new ObjectMapper(), keyRing(algorithm, encryptionAlgorithms));
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.Payload;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.utils.ClaimsWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing the payload with {@link ClaimsWriter} against converting the claims to a map first and
+ * serializing the map again, which is what the signer did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ClaimsWriterBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ClaimsWriter claimsWriter;
+    private OktaToken oktaToken;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        claimsWriter = new ClaimsWriter(objectMapper);
+        oktaToken = new OktaToken("user123", null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public byte[] convertValue() {
+        Map<String, Object> claims = objectMapper.convertValue(oktaToken, new TypeReference<>() {});
+        return new Payload(claims).toBytes();
+    }
+
+    @Benchmark
+    public byte[] claimsWriter() throws IOException {
+        return claimsWriter.write(oktaToken);
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.model.Decoder;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.model.TokenFormat;
+import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.utils.ClaimsWriter;
+import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares CWTs against compact JWS for the same Okta claims: writing the payload, signing and decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CwtBenchmark {
+
+    @Param({"ES256", "EdDSA"})
+    private SigningAlgorithm algorithm;
+
+    private ClaimsWriter jsonWriter;
+    private ClaimsWriter cborWriter;
+    private TokenSigner tokenSigner;
+    private Decoder decoder;
+    private OktaToken oktaToken;
+    private SigningOptions jwsOptions;
+    private SigningOptions cwtOptions;
+    private String jws;
+    private byte[] cwt;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        jsonWriter = new ClaimsWriter(objectMapper);
+        cborWriter = ClaimsWriter.cwt(objectMapper);
+        tokenSigner = Benchmarks.tokenSigner(algorithm);
+        decoder = new Decoder();
+        oktaToken = new OktaToken("user123", null, null, null, List.of("Everyone", "Admins"),
+                null, null, null, null);
+        jwsOptions = new SigningOptions(algorithm, null, TokenFormat.JWS, null);
+        cwtOptions = new SigningOptions(algorithm, null, TokenFormat.CWT, null);
+
+        jws = tokenSigner.sign(oktaToken, jwsOptions).getAccessToken();
+        cwt = Base64.getUrlDecoder().decode(tokenSigner.sign(oktaToken, cwtOptions).getAccessToken());
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonWriter.write(oktaToken);
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws IOException {
+        return cborWriter.write(oktaToken);
+    }
+
+    @Benchmark
+    public TokenResponse signJws() throws JOSEException {
+        return tokenSigner.sign(oktaToken, jwsOptions);
+    }
+
+    @Benchmark
+    public TokenResponse signCwt() throws JOSEException {
+        return tokenSigner.sign(oktaToken, cwtOptions);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Object>> decodeJws() throws ParseException {
+        return decoder.decode(jws);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Object>> decodeCwt() throws ParseException {
+        return decoder.decodeCwt(cwt);
+    }
+}
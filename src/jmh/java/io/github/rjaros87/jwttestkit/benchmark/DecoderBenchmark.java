@@ -0,0 +1,47 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.model.Decoder;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Decoder} using a signed Okta token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DecoderBenchmark {
+
+    private Decoder decoder;
+    private String token;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        decoder = new Decoder();
+        token = Benchmarks.tokenSigner(SigningAlgorithm.RS256)
+                .sign(new OktaToken(null, null, null, null, null, null, null, null, null))
+                .getAccessToken();
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Object>> decode() throws ParseException {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public byte[] decodeRaw() throws ParseException {
+        return decoder.decodeRaw(token);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import io.github.rjaros87.jwttestkit.utils.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the random claim data produced by {@link Faker}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FakerBenchmark {
+
+    @Benchmark
+    public String randomWord() {
+        return Faker.randomWord();
+    }
+
+    @Benchmark
+    public String randomText() {
+        return Faker.randomText(10);
+    }
+
+    @Benchmark
+    public String randomEmailAddress() {
+        return Faker.randomEmailAddress();
+    }
+
+    @Benchmark
+    public String randomUrl() {
+        return Faker.randomUrl();
+    }
+}
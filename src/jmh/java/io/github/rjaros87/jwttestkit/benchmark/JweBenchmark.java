@@ -0,0 +1,92 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEEncrypter;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.ECDHEncrypter;
+import com.nimbusds.jose.crypto.RSAEncrypter;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.github.rjaros87.jwttestkit.keys.EncryptionAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.EncryptionKey;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.model.TokenFormat;
+import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares signing a nested JWS-in-JWE against signing the plain JWS, and the encryption of {@link EncryptionKey}
+ * against the Nimbus encrypters it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JweBenchmark {
+
+    @Param({"RSA_OAEP_256", "ECDH_ES_A256KW"})
+    private EncryptionAlgorithm encryption;
+
+    private TokenSigner tokenSigner;
+    private OktaToken oktaToken;
+    private SigningOptions jwsOptions;
+    private SigningOptions jweOptions;
+    private EncryptionKey encryptionKey;
+    private JWEEncrypter nimbusEncrypter;
+    private JWEHeader nimbusHeader;
+    private String jws;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        tokenSigner = Benchmarks.tokenSigner(SigningAlgorithm.ES256, encryption);
+        oktaToken = new OktaToken("user123", null, null, null, null, null, null, null, null);
+        jwsOptions = new SigningOptions(SigningAlgorithm.ES256, null, TokenFormat.JWS, null);
+        jweOptions = new SigningOptions(SigningAlgorithm.ES256, null, TokenFormat.JWE, encryption);
+
+        encryptionKey = tokenSigner.getEncryptionKey(jweOptions);
+        nimbusEncrypter = encryption == EncryptionAlgorithm.RSA_OAEP_256
+                ? new RSAEncrypter((RSAKey) encryptionKey.getJwk())
+                : new ECDHEncrypter((ECKey) encryptionKey.getJwk());
+        nimbusHeader = new JWEHeader.Builder(encryption.getJweAlgorithm(), EncryptionMethod.A256GCM)
+                .keyID(encryptionKey.getKeyId())
+                .contentType("JWT")
+                .build();
+        jws = tokenSigner.sign(oktaToken, jwsOptions).getAccessToken();
+    }
+
+    @Benchmark
+    public TokenResponse signJws() throws JOSEException {
+        return tokenSigner.sign(oktaToken, jwsOptions);
+    }
+
+    @Benchmark
+    public TokenResponse signJwe() throws JOSEException {
+        return tokenSigner.sign(oktaToken, jweOptions);
+    }
+
+    @Benchmark
+    public String encrypt() throws JOSEException {
+        return encryptionKey.encrypt(jws);
+    }
+
+    @Benchmark
+    public String encryptNimbus() throws JOSEException {
+        JWEObject jwe = new JWEObject(nimbusHeader, new Payload(jws));
+        jwe.encrypt(nimbusEncrypter);
+        return jwe.serialize();
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.utils.Faker;
+import io.github.rjaros87.jwttestkit.utils.JWTUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The previous {@link OktaToken}, which generated every default in a field initializer and replaced the supplied
+ * claims through {@link Optional}. Kept only as the baseline of {@link ModelAllocationBenchmark}.
+ */
+class LegacyOktaToken {
+    private String sub = Faker.randomUuid();
+    private String name = Faker.randomWord();
+    private String preferredUsername = Faker.randomText(5);
+    private String email = Faker.randomEmailAddress();
+    private List<String> groups = List.of(Faker.randomText(5));
+    private Long exp = JWTUtils.getDefaultExpTime();
+    private Long iat = JWTUtils.getDefaultIatTime();
+    private String iss = Faker.randomUrl();
+    private String aud = Faker.randomUrl();
+
+    LegacyOktaToken(String sub, String name, String preferredUsername, String email, List<String> groups, Long exp,
+                    Long iat, String iss, String aud) {
+        this.sub = Optional.ofNullable(sub).orElse(this.sub);
+        this.name = Optional.ofNullable(name).orElse(this.name);
+        this.preferredUsername = Optional.ofNullable(preferredUsername).orElse(this.preferredUsername);
+        this.email = Optional.ofNullable(email).orElse(this.email);
+        this.groups = Optional.ofNullable(groups).orElse(this.groups);
+        this.exp = Optional.ofNullable(exp).orElse(this.exp);
+        this.iat = Optional.ofNullable(iat).orElse(this.iat);
+        this.iss = Optional.ofNullable(iss).orElse(this.iss);
+        this.aud = Optional.ofNullable(aud).orElse(this.aud);
+    }
+}
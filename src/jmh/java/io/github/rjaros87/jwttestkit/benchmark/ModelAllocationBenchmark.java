@@ -0,0 +1,49 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bytes allocated per token model (see {@code gc.alloc.rate.norm}) of {@link OktaToken} against the
+ * previous field initializer based {@link LegacyOktaToken}, both for a request without claims and for a request
+ * supplying every claim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ModelAllocationBenchmark {
+    private final String sub = "00u1a2b3c4d5e6f7g8h9";
+    private final List<String> groups = List.of("Everyone", "Admins");
+    private final Long exp = 4102444800L;
+    private final Long iat = 1700000000L;
+
+    @Benchmark
+    public OktaToken defaults() {
+        return new OktaToken(null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Object defaultsLegacy() {
+        return new LegacyOktaToken(null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public OktaToken supplied() {
+        return new OktaToken(sub, "Jane", "jane", "jane@example.com", groups, exp, iat,
+            "https://example.okta.com", "api://default");
+    }
+
+    @Benchmark
+    public Object suppliedLegacy() {
+        return new LegacyOktaToken(sub, "Jane", "jane", "jane@example.com", groups, exp, iat,
+            "https://example.okta.com", "api://default");
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.github.rjaros87.jwttestkit.keys.JcaSigner;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningConfiguration;
+import io.github.rjaros87.jwttestkit.keys.SigningKey;
+import io.github.rjaros87.jwttestkit.keys.SigningKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.RSAPrivateKeySpec;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify cost of RSA keys by key size, to choose between the fast 1024-bit test profile and realistic
+ * enterprise key sizes. {@code signWithoutCrt} signs with the same key stripped of its CRT parameters, the way a key
+ * holding only the private exponent would sign if its prime factors were not recovered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RsaKeySizeBenchmark {
+    private static final byte[] PAYLOAD = ("{\"sub\":\"user123\",\"iss\":\"https://jwttestkit.example\","
+            + "\"aud\":\"api://default\",\"groups\":[\"Everyone\",\"Admins\"]}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1024", "2048", "3072", "4096"})
+    private int keySize;
+
+    @Param({"RS256", "PS256"})
+    private SigningAlgorithm algorithm;
+
+    private SigningKey signingKey;
+    private SigningKey withoutCrt;
+    private JWSVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        signingKey = SigningKeys.generate(algorithm, "rsa-" + keySize, new SigningConfiguration(), keySize, null);
+        RSAKey rsaKey = (RSAKey) signingKey.getJwk();
+
+        RSAPrivateKey crtKey = (RSAPrivateKey) signingKey.getPrivateKey();
+        PrivateKey plainKey = KeyFactory.getInstance("RSA")
+                .generatePrivate(new RSAPrivateKeySpec(crtKey.getModulus(), crtKey.getPrivateExponent()));
+        withoutCrt = new SigningKey(algorithm, rsaKey, new JcaSigner(algorithm, plainKey), plainKey,
+                signingKey.getPublicKey());
+
+        verifier = new RSASSAVerifier(rsaKey.toPublicJWK());
+        token = signingKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    public String sign() throws JOSEException {
+        return signingKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    public String signWithoutCrt() throws JOSEException {
+        return withoutCrt.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    public boolean verify() throws JOSEException, ParseException {
+        return JWSObject.parse(token).verify(verifier);
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.github.rjaros87.jwttestkit.keys.JcaSigner;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningConfiguration;
+import io.github.rjaros87.jwttestkit.keys.SigningKey;
+import io.github.rjaros87.jwttestkit.keys.SigningKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs the same payload with one shared key from 1, 4, 16 and 64 threads, using the {@link JcaSigner} that keeps
+ * an initialized signature per thread and the Nimbus signer that creates one per token. Throughput should grow with
+ * the thread count up to the number of cores and stay flat above it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SignerScalingBenchmark {
+    private static final byte[] PAYLOAD = ("{\"sub\":\"user123\",\"iss\":\"https://jwttestkit.example\","
+            + "\"aud\":\"api://default\",\"groups\":[\"Everyone\",\"Admins\"]}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"RS256", "PS256", "ES256"})
+    private SigningAlgorithm algorithm;
+
+    private SigningKey jcaKey;
+    private SigningKey nimbusKey;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        jcaKey = SigningKeys.generate(algorithm, "scaling", new SigningConfiguration());
+        JWSSigner nimbusSigner = jcaKey.getJwk() instanceof RSAKey rsaKey
+                ? new RSASSASigner(rsaKey)
+                : new ECDSASigner((ECKey) jcaKey.getJwk());
+        nimbusKey = new SigningKey(algorithm, jcaKey.getJwk(), nimbusSigner, jcaKey.getPrivateKey(),
+                jcaKey.getPublicKey());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String jca1() throws JOSEException {
+        return jcaKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String jca4() throws JOSEException {
+        return jcaKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String jca16() throws JOSEException {
+        return jcaKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String jca64() throws JOSEException {
+        return jcaKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String nimbus1() throws JOSEException {
+        return nimbusKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nimbus4() throws JOSEException {
+        return nimbusKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String nimbus16() throws JOSEException {
+        return nimbusKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String nimbus64() throws JOSEException {
+        return nimbusKey.sign(JOSEObjectType.JWT, PAYLOAD);
+    }
+}
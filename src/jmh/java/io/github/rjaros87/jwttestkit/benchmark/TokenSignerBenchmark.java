@@ -0,0 +1,92 @@
+package io.github.rjaros87.jwttestkit.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.github.rjaros87.jwttestkit.model.awscognito.AWSCognitoToken;
+import io.github.rjaros87.jwttestkit.model.custom.CustomToken;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.model.sample.SampleToken;
+import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link TokenSigner} covering every supported token model.
+ * The {@code claims} parameter switches between a minimal and a large claim set,
+ * {@code algorithm} selects the signing algorithm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenSignerBenchmark {
+
+    @Param({"small", "large"})
+    private String claims;
+
+    @Param({"RS256", "PS256", "ES256", "EdDSA"})
+    private SigningAlgorithm algorithm;
+
+    private TokenSigner tokenSigner;
+    private SampleToken sampleToken;
+    private OktaToken oktaToken;
+    private AWSCognitoToken awsCognitoToken;
+    private CustomToken customToken;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        tokenSigner = Benchmarks.tokenSigner(algorithm);
+
+        int size = "large".equals(claims) ? 100 : 5;
+        List<String> groups = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            groups.add("group-" + i);
+        }
+
+        sampleToken = new SampleToken();
+        oktaToken = new OktaToken("user123", null, null, null, groups, null, null, null, null);
+        awsCognitoToken = new AWSCognitoToken("user123", null, groups, null, null, null, null, null, null,
+                "my-scope", null, null, null, null, null);
+        customToken = new CustomToken();
+        customToken.addCustomClaim("sub", "user123");
+        for (int i = 1; i < size; i++) {
+            customToken.addCustomClaim("claim" + i, i % 2 == 0 ? "value-" + i : Map.of("nested", i));
+        }
+    }
+
+    @Benchmark
+    public TokenResponse signSample() throws JOSEException {
+        return tokenSigner.sign(sampleToken);
+    }
+
+    @Benchmark
+    public TokenResponse signOkta() throws JOSEException {
+        return tokenSigner.sign(oktaToken);
+    }
+
+    @Benchmark
+    public TokenResponse signAwsCognito() throws JOSEException {
+        return tokenSigner.sign(awsCognitoToken);
+    }
+
+    @Benchmark
+    public TokenResponse signCustom() throws JOSEException {
+        return tokenSigner.sign(customToken);
+    }
+
+    @Benchmark
+    public Map<String, Object> jwks() {
+        return tokenSigner.getJwks();
+    }
+}
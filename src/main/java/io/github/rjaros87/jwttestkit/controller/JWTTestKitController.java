@@ -1,17 +1,39 @@
 package io.github.rjaros87.jwttestkit.controller;
 
 import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.keys.JwksDocument;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.model.BatchTokenRequest;
+import io.github.rjaros87.jwttestkit.model.DecodeMode;
 import io.github.rjaros87.jwttestkit.model.Decoder;
 import io.github.rjaros87.jwttestkit.model.KeysResponse;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
 import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.github.rjaros87.jwttestkit.model.VerificationResult;
+import io.github.rjaros87.jwttestkit.model.VerifyOptions;
 import io.github.rjaros87.jwttestkit.model.awscognito.AWSCognitoToken;
 import io.github.rjaros87.jwttestkit.model.custom.CustomToken;
 import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
 import io.github.rjaros87.jwttestkit.model.sample.SampleToken;
+import io.github.rjaros87.jwttestkit.utils.BulkDecoder;
+import io.github.rjaros87.jwttestkit.utils.SampleTokenPool;
+import io.github.rjaros87.jwttestkit.utils.SigningExecutor;
+import io.github.rjaros87.jwttestkit.utils.TokenBatchSigner;
 import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import io.github.rjaros87.jwttestkit.utils.TokenVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.*;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,40 +45,75 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.inject.Inject;
 import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
 
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller for JWT token generation and key management.
  * This controller provides endpoints for generating various types of JWT tokens
- * and managing RSA keys used for token signing.
+ * and managing the keys used for token signing.
  */
 @Secured(SecurityRule.IS_ANONYMOUS)
 @Log4j2
 @Controller("/JWTTestKit")
 @Tag(name = "JWT Test Kit", description = "APIs for JWT token generation and key management")
 public class JWTTestKitController {
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+    static final String APPLICATION_CBOR = "application/cbor";
 
     @Inject
     private TokenSigner tokenSigner;
 
+    @Inject
+    private TokenBatchSigner tokenBatchSigner;
+
+    @Inject
+    private SampleTokenPool sampleTokenPool;
+
+    @Inject
+    private SigningExecutor signingExecutor;
+
+    @Inject
+    private KeyRing keyRing;
+
     @Inject
     private Decoder decoder;
 
+    @Inject
+    private BulkDecoder bulkDecoder;
+
+    @Inject
+    private TokenVerifier tokenVerifier;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwttestkit.jwks.max-age:60s}")
+    private Duration jwksMaxAge;
+
+    @Value("${jwttestkit.decode.mode:FULL}")
+    private DecodeMode decodeMode;
+
     /**
-     * Retrieves the RSA key pair in PEM format.
+     * Retrieves the signing key pairs in PEM format.
      *
-     * @return KeysResponse containing both private and public keys in PEM format
+     * @return KeysResponse containing private and public keys in PEM format
      */
     @Operation(
-        summary = "Get RSA Keys",
-        description = "Retrieves the RSA key pair in PEM format for token signing and verification",
+        summary = "Get Keys",
+        description = "Retrieves the key pairs in PEM format for token signing and verification. The top level keys " +
+                "belong to the default algorithm, the `keys` list contains every enabled asymmetric algorithm.",
         responses = {
             @ApiResponse(
                 responseCode = "200",
-                description = "Successfully retrieved RSA keys",
+                description = "Successfully retrieved keys",
                 content = @Content(
                     mediaType = MediaType.APPLICATION_JSON,
                     schema = @Schema(implementation = KeysResponse.class)
@@ -70,13 +127,56 @@ public class JWTTestKitController {
     }
 
     /**
-     * Retrieves the JSON Web Key Set (JWKS) containing the public key.
+     * Rotates the signing keys. The new keys sign tokens from now on, keys exceeding the ring size stay in the
+     * JWKS for the configured grace period.
      *
-     * @return Map containing the JWKS in JSON format
+     * @param alg the algorithm to rotate, or null to rotate every enabled algorithm
+     * @param keySize the modulus length of the new RSA keys, or null for the configured size
+     * @return KeysResponse containing the active keys after the rotation
+     * @throws JOSEException if an error occurs while generating the keys
+     */
+    @Operation(
+        summary = "Rotate Keys",
+        description = "Generates new signing keys for one or every enabled algorithm. Keys exceeding " +
+                "`jwttestkit.keys.size` are retired and stay in the JWKS for `jwttestkit.keys.grace-period`.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Successfully rotated keys",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON,
+                    schema = @Schema(implementation = KeysResponse.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid request - the algorithm is not enabled or the key size is not supported",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            )
+        }
+    )
+    @Post("/keys/rotate")
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public KeysResponse rotateKeys(
+        @Parameter(description = "Algorithm to rotate, defaults to every enabled algorithm")
+        @Nullable @QueryValue SigningAlgorithm alg,
+        @Parameter(description = "Modulus length in bits of the new RSA keys, defaults to " +
+            "`jwttestkit.signing.rsa-key-size`")
+        @Nullable @QueryValue Integer keySize) throws JOSEException {
+        keyRing.rotate(alg, keySize);
+        return tokenSigner.getKeys();
+    }
+
+    /**
+     * Retrieves the JSON Web Key Set (JWKS) containing the public keys.
+     * The JWKS is serialized once per key set and supports conditional requests through its ETag.
+     *
+     * @param ifNoneMatch the ETag of the JWKS already held by the client
+     * @return the JWKS in JSON format, or 304 if the client's copy is current
      */
     @Operation(
         summary = "Get JWKS",
-        description = "Retrieves the JSON Web Key Set (JWKS) containing the public key for token verification",
+        description = "Retrieves the JSON Web Key Set (JWKS) containing the public keys for token verification",
         responses = {
             @ApiResponse(
                 responseCode = "200",
@@ -85,23 +185,37 @@ public class JWTTestKitController {
                     mediaType = MediaType.APPLICATION_JSON,
                     schema = @Schema(implementation = Map.class)
                 )
+            ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "JWKS has not changed since the ETag in If-None-Match"
             )
         }
     )
-    @Get("/jwks")
-    public Map<String, Object> jwks() {
-        return tokenSigner.getJwks();
+    @Get(value = "/jwks", produces = MediaType.APPLICATION_JSON)
+    public HttpResponse<byte[]> jwks(
+        @Parameter(description = "ETag of a previously retrieved JWKS")
+        @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        JwksDocument jwks = tokenSigner.getJwksDocument();
+        MutableHttpResponse<byte[]> response = jwks.matches(ifNoneMatch)
+            ? HttpResponse.notModified()
+            : HttpResponse.ok(jwks.getBody());
+        return response
+            .header(HttpHeaders.ETAG, jwks.getEtag())
+            .header(HttpHeaders.CACHE_CONTROL, "public, max-age=" + jwksMaxAge.toSeconds());
     }
 
     /**
      * Decodes a JWT token and returns its header and payload.
      *
      * @param rawJwt the JWT token to decode
-     * @return Map containing the header and payload of the JWT
+     * @param mode the decoding strategy, defaults to {@code jwttestkit.decode.mode}
+     * @return HttpResponse containing the header and payload of the JWT
      */
     @Operation(
             summary = "Decode JWT",
-            description = "Decodes a JWT and returns its header and payload components. Works with both signed and unsigned tokens."
+            description = "Decodes a JWT and returns its header and payload components. Works with both signed and unsigned tokens. "
+                    + "The FAST mode copies the decoded JSON without validating the registered claims."
     )
     @ApiResponse(
             responseCode = "200",
@@ -135,9 +249,9 @@ public class JWTTestKitController {
             description = "Invalid JWT token format",
             content = @Content(mediaType = MediaType.APPLICATION_JSON)
     )
-    @Post("/decode")
+    @Post(value = "/decode", produces = MediaType.APPLICATION_JSON)
     @Consumes(MediaType.TEXT_PLAIN)
-    public HttpResponse<Map<String, Map<String, Object>>> decodeToken(
+    public HttpResponse<?> decodeToken(
             @Parameter(
                     description = "Decode JWT",
                     required = true,
@@ -153,24 +267,269 @@ public class JWTTestKitController {
                             }
                     )
             )
-            @Body String rawJwt) {
+            @Body String rawJwt,
+            @Parameter(description = "Decoding strategy, FULL or FAST")
+            @Nullable @QueryValue DecodeMode mode) {
+        DecodeMode effectiveMode = mode == null ? decodeMode : mode;
         try {
+            if (effectiveMode == DecodeMode.FAST) {
+                return HttpResponse.ok(decoder.decodeRaw(rawJwt));
+            }
             return HttpResponse.ok(decoder.decode(rawJwt));
         } catch (ParseException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
+            BulkDecoder.decodeFailures(meterRegistry, "single", effectiveMode).increment();
             return HttpResponse.badRequest();
         }
     }
 
+    /**
+     * Decodes many newline-separated JWT tokens.
+     *
+     * @param body the tokens, one per line
+     * @param mode the decoding strategy, defaults to {@code jwttestkit.decode.mode}
+     * @return one JSON document per token, in input order
+     */
+    @Operation(
+        summary = "Bulk Decode JWTs",
+        description = "Decodes newline-separated JWTs in parallel and streams one result per token as "
+            + "newline-delimited JSON, in input order. Tokens that cannot be decoded produce an error line "
+            + "instead of failing the request."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Decoded tokens",
+        content = @Content(
+            mediaType = APPLICATION_NDJSON,
+            examples = @ExampleObject(
+                name = "Decoded Tokens",
+                value = """
+                    {"index":0,"header":{"alg":"none"},"payload":{"sub":"user123"}}
+                    {"index":1,"error":"Invalid JWT serialization: expected header, payload and signature"}
+                    """
+            )
+        )
+    )
+    @Post(value = "/decode/bulk", produces = APPLICATION_NDJSON)
+    @Consumes(MediaType.TEXT_PLAIN)
+    public Flux<byte[]> decodeTokens(
+        @Parameter(description = "JWT tokens, one per line", required = true,
+            content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(type = "string")))
+        @Body Flux<byte[]> body,
+        @Parameter(description = "Decoding strategy, FULL or FAST")
+        @Nullable @QueryValue DecodeMode mode) {
+        return bulkDecoder.decodeLines(body, mode == null ? decodeMode : mode);
+    }
+
+    /**
+     * Decodes a JSON array of JWT tokens.
+     *
+     * @param tokens the tokens
+     * @param mode the decoding strategy, defaults to {@code jwttestkit.decode.mode}
+     * @return one JSON document per token, in input order
+     */
+    @Operation(
+        summary = "Bulk Decode JWTs (JSON)",
+        description = "Decodes a JSON array of JWTs in parallel and streams one result per token as "
+            + "newline-delimited JSON, in input order."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Decoded tokens",
+        content = @Content(mediaType = APPLICATION_NDJSON)
+    )
+    @Post(value = "/decode/bulk", produces = APPLICATION_NDJSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Flux<byte[]> decodeTokenArray(
+        @Parameter(description = "JSON array of JWT tokens", required = true,
+            content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(type = "array", example = "[\"eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyMTIzIn0.\"]")))
+        @Body Flux<String> tokens,
+        @Parameter(description = "Decoding strategy, FULL or FAST")
+        @Nullable @QueryValue DecodeMode mode) {
+        return bulkDecoder.decodeTokens(tokens, mode == null ? decodeMode : mode);
+    }
+
+    /**
+     * Decodes a base64url encoded CWT and returns its header and payload.
+     *
+     * @param token the CWT as returned by the token endpoints with {@code format=CWT}
+     * @return HttpResponse containing the header and payload of the CWT
+     */
+    @Operation(
+        summary = "Decode CWT",
+        description = "Decodes a base64url encoded CBOR Web Token (COSE_Sign1) and returns its header and claims. "
+            + "The algorithm, key id and registered claims are returned under their JWT names. "
+            + "The signature is not verified."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successfully decoded token",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON)
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid CWT",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON)
+    )
+    @Post(value = "/decode/cwt", produces = MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.TEXT_PLAIN)
+    public HttpResponse<?> decodeCwt(
+        @Parameter(description = "Base64url encoded CWT", required = true,
+            content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(type = "string")))
+        @Body String token) {
+        byte[] cwt;
+        try {
+            cwt = Base64.getUrlDecoder().decode(token.strip());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid CWT encoding: {}", e.getMessage());
+            BulkDecoder.decodeFailures(meterRegistry, "cwt", DecodeMode.FULL).increment();
+            return HttpResponse.badRequest();
+        }
+        return decodeCwtBytes(cwt);
+    }
+
+    /**
+     * Decodes a binary CWT and returns its header and payload.
+     *
+     * @param token the CWT bytes
+     * @return HttpResponse containing the header and payload of the CWT
+     */
+    @Operation(
+        summary = "Decode CWT (CBOR)",
+        description = "Decodes a binary CBOR Web Token (COSE_Sign1) and returns its header and claims. "
+            + "The signature is not verified."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successfully decoded token",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON)
+    )
+    @Post(value = "/decode/cwt", produces = MediaType.APPLICATION_JSON)
+    @Consumes(APPLICATION_CBOR)
+    public HttpResponse<?> decodeCwtBinary(
+        @Parameter(description = "CWT bytes", required = true,
+            content = @Content(mediaType = APPLICATION_CBOR, schema = @Schema(type = "string", format = "binary")))
+        @Body byte[] token) {
+        return decodeCwtBytes(token);
+    }
+
+    /**
+     * Verifies a JWT against the keys of the key ring.
+     *
+     * @param rawJwt the JWT token to verify
+     * @param verify the expected issuer and audience
+     * @return future completed with the HttpResponse containing the verification result
+     */
+    @Operation(
+        summary = "Verify JWT",
+        description = "Verifies the signature of a JWT against the active and retired keys of the key ring, and "
+            + "checks its exp, nbf and iat claims and optionally its issuer and audience. Invalid tokens are "
+            + "reported with valid=false and the reason."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Verification result",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON,
+            schema = @Schema(implementation = VerificationResult.class),
+            examples = @ExampleObject(
+                name = "Invalid Token",
+                value = """
+                    {"valid":false,"kid":"1b2c3d4e","alg":"RS256","error":"Token expired"}
+                    """
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Signing executor is saturated, retry later",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON)
+    )
+    @Post(value = "/verify", produces = MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.TEXT_PLAIN)
+    public CompletableFuture<HttpResponse<VerificationResult>> verifyToken(
+        @Parameter(description = "JWT token to verify", required = true,
+            content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(type = "string")))
+        @Body String rawJwt,
+        @RequestBean VerifyOptions verify) {
+        return signingExecutor.submit(() -> HttpResponse.ok(tokenVerifier.verify(rawJwt, verify)));
+    }
+
+    /**
+     * Verifies many newline-separated JWT tokens.
+     *
+     * @param body the tokens, one per line
+     * @param verify the expected issuer and audience
+     * @return one verification result per token, in input order
+     */
+    @Operation(
+        summary = "Bulk Verify JWTs",
+        description = "Verifies newline-separated JWTs in parallel and streams one result per token as "
+            + "newline-delimited JSON, in input order."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Verification results",
+        content = @Content(mediaType = APPLICATION_NDJSON)
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Signing executor is saturated, retry later",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON)
+    )
+    @Post(value = "/verify/bulk", produces = APPLICATION_NDJSON)
+    @Consumes(MediaType.TEXT_PLAIN)
+    public Flux<byte[]> verifyTokens(
+        @Parameter(description = "JWT tokens, one per line", required = true,
+            content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(type = "string")))
+        @Body Flux<byte[]> body,
+        @RequestBean VerifyOptions verify) {
+        return tokenVerifier.verifyLines(body, verify);
+    }
+
+    /**
+     * Verifies a JSON array of JWT tokens.
+     *
+     * @param tokens the tokens
+     * @param verify the expected issuer and audience
+     * @return one verification result per token, in input order
+     */
+    @Operation(
+        summary = "Bulk Verify JWTs (JSON)",
+        description = "Verifies a JSON array of JWTs in parallel and streams one result per token as "
+            + "newline-delimited JSON, in input order."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Verification results",
+        content = @Content(mediaType = APPLICATION_NDJSON)
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Signing executor is saturated, retry later",
+        content = @Content(mediaType = MediaType.APPLICATION_JSON)
+    )
+    @Post(value = "/verify/bulk", produces = APPLICATION_NDJSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Flux<byte[]> verifyTokenArray(
+        @Parameter(description = "JSON array of JWT tokens", required = true,
+            content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = "array")))
+        @Body Flux<String> tokens,
+        @RequestBean VerifyOptions verify) {
+        return tokenVerifier.verifyTokens(tokens, verify);
+    }
+
     /**
      * Generates a sample JWT token with predefined claims.
      *
-     * @return HttpResponse containing the generated token
-     * @throws JOSEException if there's an error during token signing
+     * @param signing the algorithm and key to sign with
+     * @return future completed with the HttpResponse containing the generated token
      */
     @Operation(
         summary = "Generate Sample Token",
-        description = "Generates a sample JWT token with predefined claims",
+        description = "Generates a sample JWT token with predefined claims. Served from the pool of pre-signed "
+            + "tokens when it is enabled and no algorithm or key is requested",
         responses = {
             @ApiResponse(
                 responseCode = "200",
@@ -179,21 +538,31 @@ public class JWTTestKitController {
                     mediaType = MediaType.APPLICATION_JSON,
                     schema = @Schema(implementation = TokenResponse.class)
                 )
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Signing executor is saturated, retry later",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
             )
         }
     )
     @Get("/token")
     @Consumes(MediaType.APPLICATION_JSON)
-    public HttpResponse<TokenResponse> generateSampleToken() throws JOSEException {
-        return HttpResponse.ok(tokenSigner.sign(new SampleToken()));
+    public CompletableFuture<HttpResponse<TokenResponse>> generateSampleToken(
+        @RequestBean SigningOptions signing) {
+        TokenResponse pooled = sampleTokenPool.poll(signing);
+        if (pooled != null) {
+            return CompletableFuture.completedFuture(HttpResponse.ok(pooled));
+        }
+        return signingExecutor.submit(() -> HttpResponse.ok(tokenSigner.sign(new SampleToken(), signing)));
     }
 
     /**
      * Creates a JWT token with AWS Cognito-compatible claims.
      *
      * @param body AWS Cognito token claims
-     * @return HttpResponse containing the generated token
-     * @throws JOSEException if there's an error during token signing
+     * @param signing the algorithm and key to sign with
+     * @return future completed with the HttpResponse containing the generated token
      */
     @Operation(
         summary = "Create AWS Cognito Token",
@@ -211,12 +580,17 @@ public class JWTTestKitController {
                 responseCode = "400",
                 description = "Invalid request - missing or malformed request body",
                 content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Signing executor is saturated, retry later",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
             )
         }
     )
     @Post("/token/aws-cognito")
     @Consumes(MediaType.APPLICATION_JSON)
-    public HttpResponse<TokenResponse> createCognitoToken(
+    public CompletableFuture<HttpResponse<TokenResponse>> createCognitoToken(
         @Parameter(
             description = "AWS Cognito token claims (at least empty JSON {})",
             required = true,
@@ -244,8 +618,9 @@ public class JWTTestKitController {
                 }
             )
         )
-        @Body AWSCognitoToken body) throws JOSEException {
-        return HttpResponse.ok(tokenSigner.sign(body));
+        @Body AWSCognitoToken body,
+        @RequestBean SigningOptions signing) {
+        return signingExecutor.submit(() -> HttpResponse.ok(tokenSigner.sign(body, signing)));
     }
 
     /**
@@ -257,8 +632,8 @@ public class JWTTestKitController {
      *
      * @param formParams Map containing form parameters, including the required `scope`
      * @param authorizationHeader Basic Authorization header containing the clientId and secret
-     * @return HttpResponse containing the generated token or an error response
-     * @throws JOSEException if there's an error during token signing
+     * @param signing the algorithm and key to sign with
+     * @return future completed with the HttpResponse containing the generated token or an error response
      */
     @Operation(
         summary = "Create AWS Cognito Token (URL-encoded)",
@@ -277,12 +652,17 @@ public class JWTTestKitController {
                 responseCode = "400",
                 description = "Invalid request - missing or malformed form data or Authorization header",
                 content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Signing executor is saturated, retry later",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
             )
         }
     )
     @Post("/token/aws-cognito")
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
-    public HttpResponse<TokenResponse> createCognitoTokenFromUrlEncoded(
+    public CompletableFuture<HttpResponse<TokenResponse>> createCognitoTokenFromUrlEncoded(
         @Parameter(
             description = "Form parameters containing the required `scope`",
             required = true,
@@ -312,10 +692,11 @@ public class JWTTestKitController {
                     }
                 )
         )
-        @Header("Authorization") String authorizationHeader) throws JOSEException {
+        @Header("Authorization") String authorizationHeader,
+        @RequestBean SigningOptions signing) {
 
         if (formParams.isEmpty() || authorizationHeader == null) {
-            return HttpResponse.badRequest();
+            return CompletableFuture.completedFuture(HttpResponse.badRequest());
         }
 
         String scope = formParams.get("scope");
@@ -323,20 +704,21 @@ public class JWTTestKitController {
         // Extract Cognito clientId
         String[] basicAuthorization = decodeBasicAuth(authorizationHeader).split(":");
         if (basicAuthorization.length != 2 || scope == null) {
-            return HttpResponse.badRequest();
+            return CompletableFuture.completedFuture(HttpResponse.badRequest());
         }
 
         String clientId = basicAuthorization[0];
 
-        return HttpResponse.ok(tokenSigner.sign(new AWSCognitoToken(clientId, scope)));
+        return signingExecutor.submit(() ->
+            HttpResponse.ok(tokenSigner.sign(new AWSCognitoToken(clientId, scope), signing)));
     }
 
     /**
      * Creates a JWT token with Okta-compatible claims.
      *
      * @param body Okta token claims
-     * @return HttpResponse containing the generated token
-     * @throws JOSEException if there's an error during token signing
+     * @param signing the algorithm and key to sign with
+     * @return future completed with the HttpResponse containing the generated token
      */
     @Operation(
         summary = "Create Okta Token",
@@ -354,12 +736,17 @@ public class JWTTestKitController {
                 responseCode = "400",
                 description = "Invalid request - missing or malformed request body",
                 content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Signing executor is saturated, retry later",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
             )
         }
     )
     @Post("/token/okta")
     @Consumes(MediaType.APPLICATION_JSON)
-    public HttpResponse<TokenResponse> createOktaToken(
+    public CompletableFuture<HttpResponse<TokenResponse>> createOktaToken(
         @Parameter(
             description = "Okta token claims (at least empty JSON {})",
             required = true,
@@ -387,16 +774,17 @@ public class JWTTestKitController {
                 }
             )
         )
-        @Body OktaToken body) throws JOSEException {
-        return HttpResponse.ok(tokenSigner.sign(body));
+        @Body OktaToken body,
+        @RequestBean SigningOptions signing) {
+        return signingExecutor.submit(() -> HttpResponse.ok(tokenSigner.sign(body, signing)));
     }
 
     /**
      * Creates a JWT token with custom claims.
      *
      * @param body Custom token claims
-     * @return HttpResponse containing the generated token
-     * @throws JOSEException if there's an error during token signing
+     * @param signing the algorithm and key to sign with
+     * @return future completed with the HttpResponse containing the generated token
      */
     @Operation(
         summary = "Create Custom Token",
@@ -419,12 +807,17 @@ public class JWTTestKitController {
                 responseCode = "500",
                 description = "Error generating token",
                 content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Signing executor is saturated, retry later",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
             )
         }
     )
     @Post("/token/custom")
     @Consumes(MediaType.APPLICATION_JSON)
-    public HttpResponse<TokenResponse> createCustomToken(
+    public CompletableFuture<HttpResponse<TokenResponse>> createCustomToken(
         @Parameter(
             description = "Custom token claims (at least empty JSON {})",
             required = true,
@@ -452,11 +845,152 @@ public class JWTTestKitController {
                 }
             )
         )
-        @Body CustomToken body) throws JOSEException {
+        @Body CustomToken body,
+        @RequestBean SigningOptions signing) {
+        return signingExecutor.submit(() -> HttpResponse.ok(tokenSigner.sign(body, signing)));
+    }
+
+    /**
+     * Creates many JWT tokens of one provider type in a single request.
+     * Tokens are signed in parallel on the signing executor and claims missing from the template are generated
+     * per token.
+     *
+     * @param body the provider type, number of tokens and optional claim template
+     * @param signing the algorithm and key to sign with
+     * @return future completed with the HttpResponse containing the generated tokens
+     */
+    @Operation(
+        summary = "Create Token Batch",
+        description = "Creates `count` JWT tokens of the given provider type (sample, okta, aws-cognito or custom). " +
+                "Claims from the optional template are shared by every token, missing claims are generated " +
+                "per token. The number of tokens is limited by `jwttestkit.batch.max-count`.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Successfully generated tokens",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON,
+                    schema = @Schema(implementation = TokenResponse.class, type = "array")
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid request - unknown type, count out of range or invalid claims",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Signing executor is saturated, retry later",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            )
+        }
+    )
+    @Post("/token/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public CompletableFuture<HttpResponse<List<TokenResponse>>> createTokenBatch(
+        @Parameter(
+            description = "Batch definition",
+            required = true,
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = BatchTokenRequest.class),
+                examples = {
+                    @ExampleObject(
+                        name = "Okta batch",
+                        value = """
+                        {
+                            "type": "okta",
+                            "count": 1000,
+                            "claims": {
+                                "iss": "https://example.okta.com",
+                                "groups": ["Users"]
+                            }
+                        }
+                        """,
+                        description = "1000 Okta tokens sharing issuer and groups"
+                    )
+                }
+            )
+        )
+        @Body BatchTokenRequest body,
+        @RequestBean SigningOptions signing) {
+        return tokenBatchSigner.sign(body, signing).thenApply(HttpResponse::ok);
+    }
+
+    /**
+     * Streams many JWT tokens of one provider type as newline-delimited JSON.
+     * Tokens are signed and flushed as the client consumes them, so memory use does not depend on the count.
+     *
+     * @param body the provider type, number of tokens and optional claim template
+     * @param signing the algorithm and key to sign with
+     * @return the generated tokens, one JSON document per line
+     */
+    @Operation(
+        summary = "Stream Tokens",
+        description = "Streams `count` JWT tokens as newline-delimited JSON. Accepts the same body as the batch " +
+                "endpoint, the number of tokens is limited by `jwttestkit.batch.max-stream-count`.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Stream of generated tokens, one TokenResponse per line",
+                content = @Content(
+                    mediaType = APPLICATION_NDJSON,
+                    schema = @Schema(implementation = TokenResponse.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid request - unknown type, count out of range or invalid claims",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Signing executor is saturated, retry later",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            )
+        }
+    )
+    @Post(value = "/token/stream", produces = APPLICATION_NDJSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Flux<byte[]> streamTokens(
+        @Parameter(description = "Batch definition", required = true,
+            content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = BatchTokenRequest.class)))
+        @Body BatchTokenRequest body,
+        @RequestBean SigningOptions signing) {
+        return tokenBatchSigner.stream(body, signing);
+    }
+
+    /**
+     * Sheds load when the signing executor is saturated.
+     *
+     * @param e the rejection of the signing task
+     * @return HttpResponse with status 503
+     */
+    @Error(exception = RejectedExecutionException.class)
+    public HttpResponse<Void> onRejectedExecution(RejectedExecutionException e) {
+        log.warn("Rejected token request: {}", e.getMessage());
+        return HttpResponse.<Void>status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1");
+    }
+
+    /**
+     * Handles tokens that cannot be signed, e.g. a missing sub claim or a key that is not active.
+     *
+     * @param e the exception thrown while signing
+     * @return HttpResponse with status 400
+     */
+    @Error(exception = IllegalArgumentException.class)
+    public HttpResponse<Void> onIllegalArgument(IllegalArgumentException e) {
+        log.error("Error generating token due to: {}", e.getMessage());
+        return HttpResponse.badRequest();
+    }
+
+    private HttpResponse<?> decodeCwtBytes(byte[] token) {
         try {
-            return HttpResponse.ok(tokenSigner.sign(body));
-        } catch (IllegalArgumentException e) {
-            log.error("Error generating custom token due to: {}", e.getMessage());
+            return HttpResponse.ok(decoder.decodeCwt(token));
+        } catch (ParseException e) {
+            log.error("Invalid CWT: {}", e.getMessage());
+            BulkDecoder.decodeFailures(meterRegistry, "cwt", DecodeMode.FULL).increment();
             return HttpResponse.badRequest();
         }
     }
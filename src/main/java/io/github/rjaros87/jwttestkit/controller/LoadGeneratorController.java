@@ -0,0 +1,171 @@
+package io.github.rjaros87.jwttestkit.controller;
+
+import io.github.rjaros87.jwttestkit.load.LoadGenerator;
+import io.github.rjaros87.jwttestkit.model.LoadReport;
+import io.github.rjaros87.jwttestkit.model.LoadScenario;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Delete;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.rules.SecurityRule;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.inject.Inject;
+import lombok.extern.log4j.Log4j2;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Controller for the built-in load generator, available when {@code jwttestkit.load.enabled} is set.
+ */
+@Secured(SecurityRule.IS_ANONYMOUS)
+@Log4j2
+@Controller("/JWTTestKit/load")
+@Requires(bean = LoadGenerator.class)
+@Tag(name = "Load Generator", description = "Drives a target API with tokens minted in-process")
+public class LoadGeneratorController {
+
+    @Inject
+    private LoadGenerator loadGenerator;
+
+    /**
+     * Starts a load test run.
+     *
+     * @param body the scenario to run
+     * @return HttpResponse with status 202 containing the initial report
+     */
+    @Operation(
+        summary = "Start Load Test",
+        description = "Starts sending requests with freshly minted bearer tokens to the target URL in the "
+            + "background. Without a rate, `concurrency` requests are kept in flight for `duration` seconds.",
+        responses = {
+            @ApiResponse(
+                responseCode = "202",
+                description = "Run started",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON,
+                    schema = @Schema(implementation = LoadReport.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid scenario",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON)
+            )
+        }
+    )
+    @Post
+    @Consumes(MediaType.APPLICATION_JSON)
+    public HttpResponse<LoadReport> start(
+        @Parameter(
+            description = "Load test scenario",
+            required = true,
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = LoadScenario.class),
+                examples = {
+                    @ExampleObject(
+                        name = "Okta tokens at a fixed rate",
+                        value = """
+                        {
+                            "url": "http://localhost:8080/secret",
+                            "rate": 500,
+                            "concurrency": 50,
+                            "duration": 30,
+                            "type": "okta",
+                            "claims": {"groups": ["Admins"]},
+                            "alg": "ES256"
+                        }
+                        """
+                    )
+                }
+            )
+        )
+        @Body LoadScenario body) {
+        LoadReport report = loadGenerator.start(body);
+        return HttpResponse.accepted(URI.create("/JWTTestKit/load/" + report.id())).body(report);
+    }
+
+    /**
+     * Lists the reports of the retained runs.
+     *
+     * @return the reports, oldest first
+     */
+    @Operation(summary = "List Load Tests", description = "Lists running and recently finished runs.")
+    @Get
+    public List<LoadReport> list() {
+        return loadGenerator.reports();
+    }
+
+    /**
+     * Gets the report of a run.
+     *
+     * @param id the run id
+     * @return HttpResponse containing the report, or 404 if the run is unknown
+     */
+    @Operation(
+        summary = "Get Load Test Report",
+        description = "Gets throughput, status counts and latency percentiles of a run, updated while it runs."
+    )
+    @Get("/{id}")
+    public HttpResponse<LoadReport> report(@PathVariable String id) {
+        LoadReport report = loadGenerator.report(id);
+        return report == null ? HttpResponse.notFound() : HttpResponse.ok(report);
+    }
+
+    /**
+     * Gets the latency percentile distribution of a run.
+     *
+     * @param id the run id
+     * @return HttpResponse containing the distribution in milliseconds, or 404 if the run is unknown
+     */
+    @Operation(
+        summary = "Get Load Test Latency Histogram",
+        description = "Gets the full HdrHistogram percentile distribution of a run in milliseconds, which can be "
+            + "plotted with the HdrHistogram plotter."
+    )
+    @Get(value = "/{id}/histogram", produces = MediaType.TEXT_PLAIN)
+    public HttpResponse<String> histogram(@PathVariable String id) {
+        String distribution = loadGenerator.percentileDistribution(id);
+        return distribution == null ? HttpResponse.notFound() : HttpResponse.ok(distribution);
+    }
+
+    /**
+     * Stops a run.
+     *
+     * @param id the run id
+     * @return HttpResponse containing the final report, or 404 if the run is unknown
+     */
+    @Operation(summary = "Stop Load Test", description = "Stops a run, requests in flight are abandoned.")
+    @Delete("/{id}")
+    public HttpResponse<LoadReport> stop(@PathVariable String id) {
+        LoadReport report = loadGenerator.stop(id);
+        return report == null ? HttpResponse.notFound() : HttpResponse.ok(report);
+    }
+
+    /**
+     * Handles invalid scenarios.
+     *
+     * @param e the validation error
+     * @return HttpResponse with status 400 and the reason
+     */
+    @Error(exception = IllegalArgumentException.class)
+    public HttpResponse<String> onIllegalArgument(IllegalArgumentException e) {
+        log.error("Invalid load scenario: {}", e.getMessage());
+        return HttpResponse.<String>badRequest(e.getMessage()).contentType(MediaType.TEXT_PLAIN_TYPE);
+    }
+}
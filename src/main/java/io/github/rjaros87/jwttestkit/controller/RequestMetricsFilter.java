@@ -0,0 +1,53 @@
+package io.github.rjaros87.jwttestkit.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+
+/**
+ * Counts rejected test kit requests and JWKS requests.
+ * A JWKS request answered with 304 Not Modified counts as a cache hit, since the client's copy was still current.
+ */
+@ServerFilter("/JWTTestKit/**")
+public class RequestMetricsFilter {
+    private static final String JWKS_PATH = "/JWTTestKit/jwks";
+
+    private final Counter badRequests;
+    private final Counter jwksHits;
+    private final Counter jwksMisses;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.badRequests = Counter.builder("jwttestkit.requests.rejected")
+            .description("Number of test kit requests answered with 400 Bad Request")
+            .register(meterRegistry);
+        this.jwksHits = jwksRequests(meterRegistry, "hit");
+        this.jwksMisses = jwksRequests(meterRegistry, "miss");
+    }
+
+    /**
+     * Records the response of a test kit request.
+     *
+     * @param request the request
+     * @param response the response
+     */
+    @ResponseFilter
+    public void record(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        HttpStatus status = response.getStatus();
+        if (status == HttpStatus.BAD_REQUEST) {
+            badRequests.increment();
+        } else if (JWKS_PATH.equals(request.getPath())) {
+            (status == HttpStatus.NOT_MODIFIED ? jwksHits : jwksMisses).increment();
+        }
+    }
+
+    private static Counter jwksRequests(MeterRegistry meterRegistry, String cache) {
+        return Counter.builder("jwttestkit.jwks.requests")
+            .description("Number of JWKS requests, hit when answered with 304 Not Modified")
+            .tag("cache", cache)
+            .register(meterRegistry);
+    }
+}
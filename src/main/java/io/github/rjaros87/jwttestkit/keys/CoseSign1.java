@@ -0,0 +1,166 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A COSE_Sign1 structure (RFC 9052), the signed envelope of a CBOR Web Token.
+ * Tokens signed by the test kit carry the algorithm in the protected header and the key id in the unprotected
+ * header, the same way a JWS header carries {@code alg} and {@code kid}.
+ * <p>
+ * Header and claim maps are read with Jackson, which exposes integer map keys as their decimal text,
+ * e.g. {@code "4"} for the key id label.
+ *
+ * @param protectedHeader the serialized protected header map
+ * @param unprotectedHeader the unprotected header map
+ * @param payload the payload bytes
+ * @param signature the signature bytes, in the same format as the signature of a JWS
+ */
+public record CoseSign1(byte[] protectedHeader, Map<String, Object> unprotectedHeader, byte[] payload,
+                        byte[] signature) {
+    public static final int TAG = 18;
+    public static final int ALG = 1;
+    public static final int KID = 4;
+
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+    private static final String SIGNATURE1 = "Signature1";
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Parses a tagged or untagged COSE_Sign1 structure.
+     *
+     * @param token the CBOR bytes
+     * @return the structure
+     * @throws ParseException if the bytes are not a COSE_Sign1 structure
+     */
+    public static CoseSign1 parse(byte[] token) throws ParseException {
+        Object value;
+        try {
+            value = CBOR_MAPPER.readValue(token, Object.class);
+        } catch (IOException e) {
+            throw new ParseException("Invalid CBOR: " + e.getMessage(), 0);
+        }
+        if (value instanceof List<?> items && items.size() == 4
+                && items.get(0) instanceof byte[] protectedHeader
+                && items.get(1) instanceof Map<?, ?> unprotectedHeader
+                && items.get(2) instanceof byte[] payload
+                && items.get(3) instanceof byte[] signature) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> header = (Map<String, Object>) unprotectedHeader;
+            return new CoseSign1(protectedHeader, header, payload, signature);
+        }
+        throw new ParseException("Invalid COSE_Sign1 structure: expected protected header, unprotected header, "
+                + "payload and signature", 0);
+    }
+
+    /**
+     * Reads a serialized CBOR map, e.g. the protected header or the CWT claims.
+     *
+     * @param map the CBOR bytes, an empty byte string stands for an empty map
+     * @return the map
+     * @throws ParseException if the bytes are not a CBOR map
+     */
+    public static Map<String, Object> readMap(byte[] map) throws ParseException {
+        if (map.length == 0) {
+            return Map.of();
+        }
+        try {
+            if (CBOR_MAPPER.readValue(map, Object.class) instanceof Map<?, ?> value) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> result = (Map<String, Object>) value;
+                return result;
+            }
+        } catch (IOException e) {
+            throw new ParseException("Invalid CBOR: " + e.getMessage(), 0);
+        }
+        throw new ParseException("Invalid CBOR: not a map", 0);
+    }
+
+    /**
+     * Builds the bytes covered by the signature of this structure.
+     *
+     * @return the serialized Sig_structure
+     */
+    public byte[] toBeSigned() {
+        return toBeSigned(protectedHeader, payload);
+    }
+
+    /**
+     * Serializes a protected header holding only the algorithm.
+     *
+     * @param coseAlgorithm the COSE algorithm identifier
+     * @return the serialized header map
+     */
+    static byte[] protectedHeader(int coseAlgorithm) {
+        return write(generator -> {
+            generator.writeStartObject(null, 1);
+            generator.writeFieldId(ALG);
+            generator.writeNumber(coseAlgorithm);
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Serializes the Sig_structure of a COSE_Sign1 without external additional authenticated data.
+     *
+     * @param protectedHeader the serialized protected header
+     * @param payload the payload bytes
+     * @return the bytes to sign
+     */
+    static byte[] toBeSigned(byte[] protectedHeader, byte[] payload) {
+        return write(generator -> {
+            generator.writeStartArray(null, 4);
+            generator.writeString(SIGNATURE1);
+            generator.writeBinary(protectedHeader);
+            generator.writeBinary(EMPTY);
+            generator.writeBinary(payload);
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * Serializes a tagged COSE_Sign1 with the key id in the unprotected header.
+     *
+     * @param protectedHeader the serialized protected header
+     * @param kid the key id bytes
+     * @param payload the payload bytes
+     * @param signature the signature bytes
+     * @return the CBOR bytes
+     */
+    static byte[] encode(byte[] protectedHeader, byte[] kid, byte[] payload, byte[] signature) {
+        return write(generator -> {
+            generator.writeTag(TAG);
+            generator.writeStartArray(null, 4);
+            generator.writeBinary(protectedHeader);
+            generator.writeStartObject(null, 1);
+            generator.writeFieldId(KID);
+            generator.writeBinary(kid);
+            generator.writeEndObject();
+            generator.writeBinary(payload);
+            generator.writeBinary(signature);
+            generator.writeEndArray();
+        });
+    }
+
+    private static byte[] write(CborWriter writer) {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (CBORGenerator generator = CBOR_MAPPER.getFactory().createGenerator(buffer)) {
+            writer.write(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface CborWriter {
+        void write(CBORGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.jwk.KeyType;
+import lombok.Getter;
+
+/**
+ * JWE key management algorithms supported for nested JWS-in-JWE tokens.
+ * Content is always encrypted with A256GCM; every algorithm gets its own key-encryption key.
+ */
+@Getter
+public enum EncryptionAlgorithm {
+    RSA_OAEP_256(JWEAlgorithm.RSA_OAEP_256, KeyType.RSA),
+    ECDH_ES_A256KW(JWEAlgorithm.ECDH_ES_A256KW, KeyType.EC);
+
+    private final JWEAlgorithm jweAlgorithm;
+    private final KeyType keyType;
+
+    EncryptionAlgorithm(JWEAlgorithm jweAlgorithm, KeyType keyType) {
+        this.jweAlgorithm = jweAlgorithm;
+        this.keyType = keyType;
+    }
+}
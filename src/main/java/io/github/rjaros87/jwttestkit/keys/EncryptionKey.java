@@ -0,0 +1,259 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEDecrypter;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.crypto.ECDHDecrypter;
+import com.nimbusds.jose.crypto.RSADecrypter;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import io.micronaut.core.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A key-encryption key wrapping signed tokens into a compact JWE with A256GCM content encryption.
+ * <p>
+ * Tokens are encrypted with the JDK provider directly: the ciphers, the key agreement and the digest are created
+ * once per platform thread instead of once per token. Virtual threads are created per task, so they borrow the
+ * primitives from a pool instead, which keeps at most one set per core. The constant part of the JWE header is
+ * serialized once per key and so is the ECDH-ES Concat KDF input. ECDH-ES still uses a fresh ephemeral key for
+ * every token, as RFC 7518 requires.
+ * Tokens are decrypted with the Nimbus decrypters.
+ */
+@Getter
+public class EncryptionKey {
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final int RSA_KEY_SIZE = 2048;
+    private static final int CEK_LENGTH = 32;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+    private static final byte[] KDF_ROUND = {0, 0, 0, 1};
+    private static final OAEPParameterSpec OAEP_SHA256 = new OAEPParameterSpec("SHA-256", "MGF1",
+        MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final ThreadLocal<Primitives> PRIMITIVES = ThreadLocal.withInitial(Primitives::create);
+    private static final Queue<Primitives> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private final EncryptionAlgorithm algorithm;
+    private final JWK jwk;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final JWEDecrypter decrypter;
+    /**
+     * The base64url encoded header for RSA-OAEP-256, or the header JSON without its closing brace for ECDH-ES.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String header;
+    @Getter(AccessLevel.NONE)
+    private final byte[] kdfInfo;
+
+    private EncryptionKey(EncryptionAlgorithm algorithm, JWK jwk, PrivateKey privateKey, PublicKey publicKey,
+                          JWEDecrypter decrypter) {
+        this.algorithm = algorithm;
+        this.jwk = jwk;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.decrypter = decrypter;
+
+        String json = new JWEHeader.Builder(algorithm.getJweAlgorithm(), EncryptionMethod.A256GCM)
+            .keyID(jwk.getKeyID())
+            .contentType("JWT")
+            .build()
+            .toString();
+        if (algorithm == EncryptionAlgorithm.RSA_OAEP_256) {
+            this.header = BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+            this.kdfInfo = null;
+        } else {
+            this.header = json.substring(0, json.lastIndexOf('}'));
+            this.kdfInfo = kdfInfo(algorithm.getJweAlgorithm().getName());
+        }
+    }
+
+    /**
+     * Generates a new key-encryption key.
+     *
+     * @param algorithm the key management algorithm
+     * @param keyId the key id published in the JWE header and JWKS
+     * @param random the source of randomness, or null for the default source
+     * @return the generated key
+     * @throws JOSEException if the key cannot be generated
+     */
+    public static EncryptionKey generate(EncryptionAlgorithm algorithm, String keyId, @Nullable SecureRandom random)
+            throws JOSEException {
+        if (algorithm == EncryptionAlgorithm.RSA_OAEP_256) {
+            RSAKey rsaKey = new RSAKeyGenerator(RSA_KEY_SIZE)
+                .keyUse(KeyUse.ENCRYPTION)
+                .algorithm(algorithm.getJweAlgorithm())
+                .keyID(keyId)
+                .secureRandom(random)
+                .generate();
+            return new EncryptionKey(algorithm, rsaKey, rsaKey.toPrivateKey(), rsaKey.toPublicKey(),
+                new RSADecrypter(rsaKey));
+        }
+        ECKey ecKey = new ECKeyGenerator(Curve.P_256)
+            .keyUse(KeyUse.ENCRYPTION)
+            .algorithm(algorithm.getJweAlgorithm())
+            .keyID(keyId)
+            .secureRandom(random)
+            .generate();
+        return new EncryptionKey(algorithm, ecKey, ecKey.toPrivateKey(), ecKey.toPublicKey(),
+            new ECDHDecrypter(ecKey));
+    }
+
+    public String getKeyId() {
+        return jwk.getKeyID();
+    }
+
+    /**
+     * Gets the public part of the key as it is published in the JWKS.
+     *
+     * @return the public JWK
+     */
+    public JWK getPublicJwk() {
+        return jwk.toPublicJWK();
+    }
+
+    /**
+     * Encrypts a signed token into a compact JWE with the {@code cty} header set to {@code JWT}.
+     *
+     * @param jws the compact JWS
+     * @return the compact JWE
+     * @throws JOSEException if the token cannot be encrypted
+     */
+    public String encrypt(String jws) throws JOSEException {
+        if (!Thread.currentThread().isVirtual()) {
+            return encrypt(jws, PRIMITIVES.get());
+        }
+
+        Primitives pooled = POOL.poll();
+        Primitives primitives = pooled != null ? pooled : Primitives.create();
+        String jwe = encrypt(jws, primitives);
+        // only primitives that encrypted successfully go back to the pool, a full pool drops them
+        POOL.offer(primitives);
+        return jwe;
+    }
+
+    private String encrypt(String jws, Primitives primitives) throws JOSEException {
+        byte[] cek = new byte[CEK_LENGTH];
+        byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(cek);
+        RANDOM.nextBytes(iv);
+        SecretKey contentKey = new SecretKeySpec(cek, "AES");
+
+        try {
+            String encodedHeader;
+            byte[] encryptedKey;
+            if (algorithm == EncryptionAlgorithm.RSA_OAEP_256) {
+                encodedHeader = header;
+                primitives.rsa().init(Cipher.ENCRYPT_MODE, publicKey, OAEP_SHA256);
+                encryptedKey = primitives.rsa().doFinal(cek);
+            } else {
+                KeyPair ephemeral = primitives.ephemeralKeys().generateKeyPair();
+                encodedHeader = encodeHeader((ECPublicKey) ephemeral.getPublic());
+                primitives.wrap().init(Cipher.WRAP_MODE, new SecretKeySpec(deriveKey(primitives, ephemeral), "AES"));
+                encryptedKey = primitives.wrap().wrap(contentKey);
+            }
+
+            Cipher gcm = primitives.gcm();
+            gcm.init(Cipher.ENCRYPT_MODE, contentKey, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+            gcm.updateAAD(encodedHeader.getBytes(StandardCharsets.US_ASCII));
+            byte[] sealed = gcm.doFinal(jws.getBytes(StandardCharsets.US_ASCII));
+            int tagOffset = sealed.length - TAG_LENGTH;
+
+            return encodedHeader
+                + '.' + BASE64URL.encodeToString(encryptedKey)
+                + '.' + BASE64URL.encodeToString(iv)
+                + '.' + BASE64URL.encodeToString(Arrays.copyOf(sealed, tagOffset))
+                + '.' + BASE64URL.encodeToString(Arrays.copyOfRange(sealed, tagOffset, sealed.length));
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException("Unable to encrypt token: " + e.getMessage(), e);
+        }
+    }
+
+    private String encodeHeader(ECPublicKey ephemeralKey) {
+        ECKey epk = new ECKey.Builder(Curve.P_256, ephemeralKey).build();
+        String json = header + ",\"epk\":{\"kty\":\"EC\",\"crv\":\"P-256\",\"x\":\"" + epk.getX()
+            + "\",\"y\":\"" + epk.getY() + "\"}}";
+        return BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Derives the 256-bit key wrapping key with the single-round Concat KDF of RFC 7518, section 4.6.2.
+     */
+    private byte[] deriveKey(Primitives primitives, KeyPair ephemeral) throws GeneralSecurityException {
+        KeyAgreement keyAgreement = primitives.keyAgreement();
+        keyAgreement.init(ephemeral.getPrivate());
+        keyAgreement.doPhase(publicKey, true);
+        byte[] sharedSecret = keyAgreement.generateSecret();
+
+        MessageDigest sha256 = primitives.sha256();
+        sha256.update(KDF_ROUND);
+        sha256.update(sharedSecret);
+        sha256.update(kdfInfo);
+        return sha256.digest();
+    }
+
+    /**
+     * Serializes the Concat KDF OtherInfo: the algorithm id, empty party infos and the key length in bits.
+     */
+    private static byte[] kdfInfo(String algorithmId) {
+        byte[] id = algorithmId.getBytes(StandardCharsets.US_ASCII);
+        return ByteBuffer.allocate(4 + id.length + 4 + 4 + 4)
+            .putInt(id.length).put(id)
+            .putInt(0)
+            .putInt(0)
+            .putInt(CEK_LENGTH * 8)
+            .array();
+    }
+
+    /**
+     * JCA instances used by one thread at a time; none of them is thread-safe, all of them are reusable after init.
+     */
+    private record Primitives(Cipher gcm, Cipher rsa, Cipher wrap, KeyAgreement keyAgreement,
+                              KeyPairGenerator ephemeralKeys, MessageDigest sha256) {
+
+        static Primitives create() {
+            try {
+                KeyPairGenerator ephemeralKeys = KeyPairGenerator.getInstance("EC");
+                ephemeralKeys.initialize(new ECGenParameterSpec("secp256r1"), RANDOM);
+                return new Primitives(Cipher.getInstance("AES/GCM/NoPadding"),
+                    Cipher.getInstance("RSA/ECB/OAEPPadding"), Cipher.getInstance("AESWrap"),
+                    KeyAgreement.getInstance("ECDH"), ephemeralKeys, MessageDigest.getInstance("SHA-256"));
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("JWE primitives are not available: " + e.getMessage(), e);
+            }
+        }
+    }
+}
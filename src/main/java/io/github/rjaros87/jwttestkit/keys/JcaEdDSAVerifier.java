@@ -0,0 +1,67 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.impl.AlgorithmSupportMessage;
+import com.nimbusds.jose.crypto.impl.BaseJWSProvider;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Ed25519 verifier backed by the JDK provider, the counterpart of {@link JcaSigner}.
+ * <p>
+ * A signature object returns to its initialized state after verifying, so one is initialized per platform thread
+ * and kept. Virtual threads are created per task and borrow initialized signatures from a pool instead, which keeps
+ * at most one per core.
+ */
+public class JcaEdDSAVerifier extends BaseJWSProvider implements JWSVerifier {
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private final PublicKey publicKey;
+    private final ThreadLocal<Signature> verifiers = new ThreadLocal<>();
+    private final Queue<Signature> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public JcaEdDSAVerifier(PublicKey publicKey) {
+        super(Set.of(JWSAlgorithm.EdDSA));
+        this.publicKey = publicKey;
+    }
+
+    @Override
+    public boolean verify(JWSHeader header, byte[] signingInput, Base64URL signature) throws JOSEException {
+        if (!supportedJWSAlgorithms().contains(header.getAlgorithm())) {
+            throw new JOSEException(AlgorithmSupportMessage.unsupportedJWSAlgorithm(header.getAlgorithm(),
+                    supportedJWSAlgorithms()));
+        }
+
+        boolean virtual = Thread.currentThread().isVirtual();
+        try {
+            Signature verifier = virtual ? pool.poll() : verifiers.get();
+            if (verifier == null) {
+                verifier = Signature.getInstance("Ed25519");
+                verifier.initVerify(publicKey);
+                if (!virtual) {
+                    verifiers.set(verifier);
+                }
+            }
+            verifier.update(signingInput);
+            boolean valid = verifier.verify(signature.decode());
+            if (virtual) {
+                // a full pool drops the verifier
+                pool.offer(verifier);
+            }
+            return valid;
+        } catch (GeneralSecurityException e) {
+            // the state of a verifier that failed is unknown, the next token starts with a new one
+            verifiers.remove();
+            throw new JOSEException("Unable to verify with Ed25519: " + e.getMessage(), e);
+        }
+    }
+}
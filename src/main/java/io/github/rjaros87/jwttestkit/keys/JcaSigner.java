@@ -0,0 +1,125 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.impl.AlgorithmSupportMessage;
+import com.nimbusds.jose.crypto.impl.BaseJWSProvider;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * RSA, ECDSA and Ed25519 signer backed by the JDK provider, so EdDSA works without the optional Tink dependency
+ * of Nimbus.
+ * <p>
+ * The Nimbus signers look up and initialize a new {@link Signature} for every token. This signer initializes one
+ * per platform thread and keeps it, as a signature object returns to its initialized state after signing. Virtual
+ * threads are created per task, so they borrow initialized signatures from a pool instead, which keeps at most one
+ * per core for every key. ECDSA uses the IEEE P1363 format of the JDK, which already is the R || S concatenation a
+ * JWS expects.
+ */
+public class JcaSigner extends BaseJWSProvider implements JWSSigner {
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final PSSParameterSpec PSS_SHA256 = new PSSParameterSpec("SHA-256", "MGF1",
+        MGF1ParameterSpec.SHA256, 32, PSSParameterSpec.TRAILER_FIELD_BC);
+
+    private final SigningAlgorithm algorithm;
+    private final PrivateKey privateKey;
+    private final String jcaAlgorithm;
+    private final AlgorithmParameterSpec parameters;
+    private final int signatureLength;
+    private final ThreadLocal<Signature> signatures = new ThreadLocal<>();
+    private final Queue<Signature> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public JcaSigner(SigningAlgorithm algorithm, PrivateKey privateKey) {
+        super(Set.of(algorithm.getJwsAlgorithm()));
+        this.algorithm = algorithm;
+        this.privateKey = privateKey;
+        this.parameters = algorithm == SigningAlgorithm.PS256 ? PSS_SHA256 : null;
+        this.jcaAlgorithm = switch (algorithm) {
+            case RS256 -> "SHA256withRSA";
+            case RS384 -> "SHA384withRSA";
+            case RS512 -> "SHA512withRSA";
+            case PS256 -> "RSASSA-PSS";
+            case ES256 -> "SHA256withECDSAinP1363Format";
+            case ES384 -> "SHA384withECDSAinP1363Format";
+            case EdDSA -> "Ed25519";
+            case HS256 -> throw new IllegalArgumentException(algorithm + " is not a signature algorithm");
+        };
+        this.signatureLength = switch (algorithm) {
+            case RS256, RS384, RS512, PS256 -> (((RSAKey) privateKey).getModulus().bitLength() + 7) / 8;
+            case ES384 -> 96;
+            default -> 64;
+        };
+    }
+
+    /**
+     * Gets the length of every signature created by this signer, which is fixed for the supported algorithms.
+     *
+     * @return the signature length in bytes
+     */
+    public int getSignatureLength() {
+        return signatureLength;
+    }
+
+    @Override
+    public Base64URL sign(JWSHeader header, byte[] signingInput) throws JOSEException {
+        if (!supportedJWSAlgorithms().contains(header.getAlgorithm())) {
+            throw new JOSEException(AlgorithmSupportMessage.unsupportedJWSAlgorithm(header.getAlgorithm(),
+                    supportedJWSAlgorithms()));
+        }
+        return Base64URL.encode(sign(signingInput, 0, signingInput.length));
+    }
+
+    /**
+     * Signs a range of a buffer, so the signing input does not need to be copied into an array of its own.
+     *
+     * @param input the buffer holding the signing input
+     * @param offset the offset of the signing input
+     * @param length the length of the signing input
+     * @return the signature bytes
+     * @throws JOSEException if the input cannot be signed
+     */
+    public byte[] sign(byte[] input, int offset, int length) throws JOSEException {
+        boolean virtual = Thread.currentThread().isVirtual();
+        try {
+            Signature signature = virtual ? pool.poll() : signatures.get();
+            if (signature == null) {
+                signature = newSignature();
+                if (!virtual) {
+                    signatures.set(signature);
+                }
+            }
+            signature.update(input, offset, length);
+            byte[] result = signature.sign();
+            if (virtual) {
+                // a full pool drops the signature
+                pool.offer(signature);
+            }
+            return result;
+        } catch (GeneralSecurityException e) {
+            // the state of a signature that failed is unknown, the next token starts with a new one
+            signatures.remove();
+            throw new JOSEException("Unable to sign with " + algorithm + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Signature newSignature() throws GeneralSecurityException {
+        Signature signature = Signature.getInstance(jcaAlgorithm);
+        if (parameters != null) {
+            signature.setParameter(parameters);
+        }
+        signature.initSign(privateKey);
+        return signature;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * JSON Web Key Set serialized once, together with a strong ETag derived from its content.
+ */
+@Getter
+public class JwksDocument {
+    private static final int ETAG_HASH_LENGTH = 16;
+
+    private final byte[] body;
+    private final String etag;
+
+    /**
+     * Serializes the specified public keys as a JWKS.
+     *
+     * @param publicKeys the public keys to publish
+     */
+    public JwksDocument(List<JWK> publicKeys) {
+        this.body = JSONObjectUtils.toJSONString(new JWKSet(publicKeys).toJSONObject())
+                .getBytes(StandardCharsets.UTF_8);
+        this.etag = '"' + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(sha256(body), ETAG_HASH_LENGTH)) + '"';
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} header value matches this document.
+     *
+     * @param ifNoneMatch the header value, may contain several (weak) entity tags or {@code *}
+     * @return true if the client already has the current JWKS
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
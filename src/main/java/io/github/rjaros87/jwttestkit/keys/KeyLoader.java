@@ -0,0 +1,229 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import io.micronaut.context.exceptions.ConfigurationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Loads signing keys from a JWK, a JWK set or PEM encoded key pairs.
+ * PEM input uses the format returned by {@code /JWTTestKit/keys}: a PKCS#8 {@code PRIVATE KEY} block followed by
+ * its X.509 {@code PUBLIC KEY} block. The public block may be omitted for RSA keys.
+ */
+public final class KeyLoader {
+    private static final Pattern PEM_BLOCK = Pattern.compile(
+            "-----BEGIN ([A-Z ]+)-----([A-Za-z0-9+/=\\s]+)-----END \\1-----");
+    private static final String[] KEY_ALGORITHMS = {"RSA", "EC", "Ed25519"};
+
+    private KeyLoader() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Loads the keys of the configured key file and key material.
+     *
+     * @param configuration the key ring configuration
+     * @param defaultAlgorithm the algorithm used for RSA keys that do not declare one
+     * @return the loaded keys, empty when no key source is configured
+     * @throws ConfigurationException if a key source cannot be read or parsed
+     */
+    public static List<SigningKey> load(KeyRingConfiguration configuration, SigningAlgorithm defaultAlgorithm) {
+        List<SigningKey> keys = new ArrayList<>();
+        if (isSet(configuration.getFile())) {
+            for (Path file : files(Path.of(configuration.getFile()))) {
+                keys.addAll(parse(read(file), defaultAlgorithm, file.toString()));
+            }
+        }
+        if (isSet(configuration.getMaterial())) {
+            keys.addAll(parse(configuration.getMaterial(), defaultAlgorithm, "jwttestkit.keys.material"));
+        }
+        return keys;
+    }
+
+    /**
+     * Parses a JWK, a JWK set or PEM encoded key pairs.
+     *
+     * @param content the key content
+     * @param defaultAlgorithm the algorithm used for RSA keys that do not declare one
+     * @param source the name of the key source used in error messages
+     * @return the parsed keys
+     * @throws ConfigurationException if the content cannot be parsed
+     */
+    public static List<SigningKey> parse(String content, SigningAlgorithm defaultAlgorithm, String source) {
+        try {
+            String trimmed = content.strip();
+            List<JWK> jwks;
+            if (trimmed.startsWith("{")) {
+                Map<String, Object> json = JSONObjectUtils.parse(trimmed);
+                jwks = json.containsKey("keys") ? JWKSet.parse(json).getKeys() : List.of(JWK.parse(json));
+            } else {
+                jwks = parsePem(trimmed);
+            }
+            if (jwks.isEmpty()) {
+                throw new ConfigurationException("No keys found in " + source);
+            }
+
+            List<SigningKey> keys = new ArrayList<>();
+            for (JWK jwk : jwks) {
+                keys.add(SigningKeys.fromJwk(jwk, algorithmOf(jwk, defaultAlgorithm)));
+            }
+            return keys;
+        } catch (ParseException | JOSEException | IllegalArgumentException e) {
+            throw new ConfigurationException("Invalid keys in " + source + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static List<JWK> parsePem(String content) throws JOSEException {
+        List<PrivateKey> privateKeys = new ArrayList<>();
+        List<PublicKey> publicKeys = new ArrayList<>();
+        Matcher matcher = PEM_BLOCK.matcher(content);
+        while (matcher.find()) {
+            byte[] der = Base64.getMimeDecoder().decode(matcher.group(2));
+            switch (matcher.group(1)) {
+                case "PRIVATE KEY" -> privateKeys.add(decodePrivateKey(der));
+                case "PUBLIC KEY" -> publicKeys.add(decodePublicKey(der));
+                default -> throw new JOSEException("Unsupported PEM block " + matcher.group(1)
+                        + ", keys must be PKCS#8 encoded");
+            }
+        }
+
+        List<JWK> jwks = new ArrayList<>();
+        for (int i = 0; i < privateKeys.size(); i++) {
+            PublicKey publicKey = i < publicKeys.size() ? publicKeys.get(i) : null;
+            jwks.add(toJwk(privateKeys.get(i), publicKey));
+        }
+        return jwks;
+    }
+
+    private static JWK toJwk(PrivateKey privateKey, PublicKey publicKey) throws JOSEException {
+        if (publicKey == null && privateKey instanceof RSAPrivateCrtKey crtKey) {
+            publicKey = rsaPublicKey(crtKey);
+        }
+        if (publicKey == null || !publicKey.getAlgorithm().equals(privateKey.getAlgorithm())) {
+            throw new JOSEException("Missing " + privateKey.getAlgorithm() + " PUBLIC KEY block");
+        }
+
+        if (publicKey instanceof RSAPublicKey rsaPublicKey) {
+            return new RSAKey.Builder(rsaPublicKey).privateKey((RSAPrivateKey) privateKey).build();
+        }
+        if (publicKey instanceof ECPublicKey ecPublicKey) {
+            return new ECKey.Builder(Curve.forECParameterSpec(ecPublicKey.getParams()), ecPublicKey)
+                    .privateKey((ECPrivateKey) privateKey)
+                    .build();
+        }
+        return new OctetKeyPair.Builder(Curve.Ed25519,
+                Base64URL.encode(SigningKeys.rawKey(publicKey.getEncoded())))
+                .d(Base64URL.encode(SigningKeys.rawKey(privateKey.getEncoded())))
+                .build();
+    }
+
+    private static SigningAlgorithm algorithmOf(JWK jwk, SigningAlgorithm defaultAlgorithm) {
+        if (jwk.getAlgorithm() != null) {
+            return SigningAlgorithm.valueOf(jwk.getAlgorithm().getName());
+        }
+        KeyType keyType = jwk.getKeyType();
+        if (KeyType.RSA.equals(keyType)) {
+            return KeyType.RSA.equals(defaultAlgorithm.getKeyType()) ? defaultAlgorithm : SigningAlgorithm.RS256;
+        }
+        if (KeyType.OCT.equals(keyType)) {
+            return SigningAlgorithm.HS256;
+        }
+
+        Curve curve = jwk instanceof ECKey ecKey ? ecKey.getCurve() : ((OctetKeyPair) jwk).getCurve();
+        for (SigningAlgorithm algorithm : SigningAlgorithm.values()) {
+            if (curve.equals(algorithm.getCurve())) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported curve " + curve);
+    }
+
+    private static PrivateKey decodePrivateKey(byte[] der) throws JOSEException {
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(der));
+            } catch (GeneralSecurityException e) {
+                // not a key of this algorithm, try the next one
+            }
+        }
+        throw new JOSEException("Unsupported PRIVATE KEY, expected an RSA, EC or Ed25519 key");
+    }
+
+    private static PublicKey decodePublicKey(byte[] der) throws JOSEException {
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(der));
+            } catch (GeneralSecurityException e) {
+                // not a key of this algorithm, try the next one
+            }
+        }
+        throw new JOSEException("Unsupported PUBLIC KEY, expected an RSA, EC or Ed25519 key");
+    }
+
+    private static PublicKey rsaPublicKey(RSAPrivateCrtKey crtKey) throws JOSEException {
+        try {
+            return KeyFactory.getInstance("RSA")
+                    .generatePublic(new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException("Unable to derive the RSA public key: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<Path> files(Path path) {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        // a mounted Kubernetes secret is a directory with one file per key, hidden entries are its metadata
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> !file.getFileName().toString().startsWith("."))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new ConfigurationException("Unable to list keys in " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new ConfigurationException("Unable to read keys from " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isBlank();
+    }
+}
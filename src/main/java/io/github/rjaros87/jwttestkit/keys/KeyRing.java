@@ -0,0 +1,200 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.utils.JWTUtils;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the signing keys of every enabled algorithm and rotates them.
+ * The keys are kept in an immutable {@link KeySet} that is swapped atomically, so signing threads never wait
+ * for a rotation. New keys are generated before the swap and retired keys are purged lazily once their grace
+ * period has ended.
+ * <p>
+ * Keys loaded from {@link KeyRingConfiguration#getFile()} or {@link KeyRingConfiguration#getMaterial()} make up the
+ * initial key set, only algorithms without a loaded key get generated keys. With a configured seed the generated
+ * keys are derived from the seed, the algorithm and a per-algorithm counter, so replicas share the same keys as
+ * long as they rotate the same number of times. A lazy key ring defers loading and generating the initial keys to
+ * the first call of {@link #current()} or {@link #rotate(SigningAlgorithm)}.
+ * <p>
+ * Key-encryption keys of the enabled JWE algorithms are generated with the initial key set and are not rotated.
+ */
+@Log4j2
+@Singleton
+public class KeyRing {
+
+    private final SigningConfiguration signingConfiguration;
+    private final KeyRingConfiguration configuration;
+    private final ApplicationEventPublisher<KeyRingChangedEvent> eventPublisher;
+    @Getter
+    private final SigningAlgorithm defaultAlgorithm;
+    private final AtomicReference<KeySet> keySet;
+    private final Map<SigningAlgorithm, AtomicLong> generatedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new KeyRing, loads the configured keys and generates the missing keys of every enabled
+     * algorithm, unless the key ring is lazy in which case this happens on first use.
+     *
+     * @param signingConfiguration the signing configuration
+     * @param configuration the key ring configuration
+     * @param eventPublisher publisher notified about key ring changes
+     * @throws JOSEException if an error occurs while generating the keys
+     */
+    public KeyRing(SigningConfiguration signingConfiguration, KeyRingConfiguration configuration,
+                   ApplicationEventPublisher<KeyRingChangedEvent> eventPublisher) throws JOSEException {
+        if (configuration.getSize() < 1) {
+            throw new IllegalArgumentException("jwttestkit.keys.size must be at least 1");
+        }
+        SigningKeys.checkRsaKeySize(signingConfiguration.getRsaKeySize());
+        this.signingConfiguration = signingConfiguration;
+        this.configuration = configuration;
+        this.eventPublisher = eventPublisher;
+        this.defaultAlgorithm = signingConfiguration.getAlgorithm();
+        this.keySet = new AtomicReference<>(configuration.isLazy() ? null : createInitialKeySet());
+    }
+
+    /**
+     * Gets the current key set, dropping retired keys whose grace period has ended.
+     *
+     * @return the current key set
+     * @throws IllegalStateException if the keys of a lazy key ring cannot be generated
+     */
+    public KeySet current() {
+        KeySet current = keySet.get();
+        if (current == null) {
+            current = initialize();
+        }
+        long now = System.currentTimeMillis();
+        if (!current.hasExpiredKeys(now)) {
+            return current;
+        }
+
+        KeySet purged = current.purge(now);
+        if (keySet.compareAndSet(current, purged)) {
+            log.info("Removed expired keys from the key ring, version: {}", purged.getVersion());
+            eventPublisher.publishEvent(new KeyRingChangedEvent(purged));
+        }
+        return keySet.get();
+    }
+
+    /**
+     * Generates a new key for the specified algorithm, or for every enabled algorithm, and makes it the current
+     * signing key. Keys exceeding the ring size are retired.
+     *
+     * @param algorithm the algorithm to rotate, or null to rotate every enabled algorithm
+     * @return the key set after the rotation
+     * @throws JOSEException if an error occurs while generating the keys
+     * @throws IllegalArgumentException if the algorithm is not enabled
+     */
+    public KeySet rotate(@Nullable SigningAlgorithm algorithm) throws JOSEException {
+        return rotate(algorithm, null);
+    }
+
+    /**
+     * Rotates the keys like {@link #rotate(SigningAlgorithm)}, generating the new RSA keys with the given size
+     * instead of the configured one. Keys of different sizes can be active and published side by side.
+     *
+     * @param algorithm the algorithm to rotate, or null to rotate every enabled algorithm
+     * @param rsaKeySize the modulus length in bits of the new RSA keys, or null for the configured size
+     * @return the key set after the rotation
+     * @throws JOSEException if an error occurs while generating the keys
+     * @throws IllegalArgumentException if the algorithm is not enabled or the key size is not supported
+     */
+    public KeySet rotate(@Nullable SigningAlgorithm algorithm, @Nullable Integer rsaKeySize) throws JOSEException {
+        int keySize = rsaKeySize != null ? rsaKeySize : signingConfiguration.getRsaKeySize();
+        SigningKeys.checkRsaKeySize(keySize);
+        Set<SigningAlgorithm> algorithms = signingConfiguration.getEnabledAlgorithms();
+        if (algorithm != null) {
+            if (!algorithms.contains(algorithm)) {
+                throw new IllegalArgumentException("Signing algorithm " + algorithm + " is not enabled");
+            }
+            algorithms = Set.of(algorithm);
+        }
+
+        current();
+        List<SigningKey> newKeys = new ArrayList<>();
+        for (SigningAlgorithm enabled : algorithms) {
+            newKeys.add(generate(enabled, keySize));
+        }
+
+        long retiredUntil = System.currentTimeMillis() + configuration.getGracePeriod().toMillis();
+        KeySet rotated = keySet.updateAndGet(current -> current.rotate(newKeys, configuration.getSize(),
+                retiredUntil));
+
+        log.info("Rotated keys {}, version: {}", newKeys.stream().map(SigningKey::getKeyId).toList(),
+                rotated.getVersion());
+        eventPublisher.publishEvent(new KeyRingChangedEvent(rotated));
+        return rotated;
+    }
+
+    private synchronized KeySet initialize() {
+        KeySet current = keySet.get();
+        if (current == null) {
+            try {
+                current = createInitialKeySet();
+            } catch (JOSEException e) {
+                throw new IllegalStateException("Unable to generate the signing keys: " + e.getMessage(), e);
+            }
+            keySet.set(current);
+        }
+        return current;
+    }
+
+    private KeySet createInitialKeySet() throws JOSEException {
+        Map<SigningAlgorithm, List<SigningKey>> keys = new EnumMap<>(SigningAlgorithm.class);
+        for (SigningKey loaded : KeyLoader.load(configuration, defaultAlgorithm)) {
+            log.info("Loaded {} signing key with kid: {}", loaded.getAlgorithm(), loaded.getKeyId());
+            keys.computeIfAbsent(loaded.getAlgorithm(), alg -> new ArrayList<>()).add(loaded);
+        }
+        for (SigningAlgorithm algorithm : signingConfiguration.getEnabledAlgorithms()) {
+            List<SigningKey> algorithmKeys = keys.computeIfAbsent(algorithm, alg -> new ArrayList<>());
+            while (algorithmKeys.size() < configuration.getSize()) {
+                algorithmKeys.add(generate(algorithm, signingConfiguration.getRsaKeySize()));
+            }
+        }
+
+        Map<EncryptionAlgorithm, EncryptionKey> encryptionKeys = new EnumMap<>(EncryptionAlgorithm.class);
+        for (EncryptionAlgorithm algorithm : signingConfiguration.getEncryptionAlgorithms()) {
+            encryptionKeys.put(algorithm, generate(algorithm));
+        }
+        return new KeySet(keys, encryptionKeys);
+    }
+
+    private EncryptionKey generate(EncryptionAlgorithm algorithm) throws JOSEException {
+        String seed = configuration.getSeed();
+        EncryptionKey encryptionKey;
+        if (seed == null || seed.isBlank()) {
+            encryptionKey = EncryptionKey.generate(algorithm, JWTUtils.generateKeyId(), null);
+        } else {
+            String keySeed = seed + ":" + algorithm;
+            encryptionKey = EncryptionKey.generate(algorithm, SigningKeys.seededKeyId(keySeed),
+                    SigningKeys.seededRandom(keySeed));
+        }
+        log.info("Generated {} encryption key with kid: {}", algorithm, encryptionKey.getKeyId());
+        return encryptionKey;
+    }
+
+    private SigningKey generate(SigningAlgorithm algorithm, int rsaKeySize) throws JOSEException {
+        String seed = configuration.getSeed();
+        SigningKey signingKey;
+        if (seed == null || seed.isBlank()) {
+            signingKey = SigningKeys.generate(algorithm, JWTUtils.generateKeyId(), signingConfiguration, rsaKeySize,
+                    null);
+        } else {
+            long index = generatedKeys.computeIfAbsent(algorithm, alg -> new AtomicLong()).getAndIncrement();
+            String keySeed = seed + ":" + algorithm + ":" + index;
+            signingKey = SigningKeys.generate(algorithm, SigningKeys.seededKeyId(keySeed), signingConfiguration,
+                    rsaKeySize, SigningKeys.seededRandom(keySeed));
+        }
+        log.info("Generated {} signing key with kid: {}", algorithm, signingKey.getKeyId());
+        return signingKey;
+    }
+}
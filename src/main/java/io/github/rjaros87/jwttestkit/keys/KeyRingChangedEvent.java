@@ -0,0 +1,16 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import lombok.Getter;
+
+/**
+ * Event published whenever keys are added to or removed from the key ring.
+ */
+@Getter
+public class KeyRingChangedEvent {
+
+    private final KeySet keySet;
+
+    public KeyRingChangedEvent(KeySet keySet) {
+        this.keySet = keySet;
+    }
+}
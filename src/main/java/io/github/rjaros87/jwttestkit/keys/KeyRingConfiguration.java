@@ -0,0 +1,54 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the key ring holding the signing keys.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("jwttestkit.keys")
+public class KeyRingConfiguration {
+
+    /**
+     * Number of active keys kept per algorithm. The newest key signs tokens unless a kid is requested.
+     */
+    private int size = 1;
+
+    /**
+     * Interval of scheduled key rotation, rotation is on-demand only when not set.
+     */
+    private Duration rotationInterval;
+
+    /**
+     * How long retired keys stay in the JWKS after they stopped signing tokens.
+     */
+    private Duration gracePeriod = Duration.ofMinutes(5);
+
+    /**
+     * Path of a PEM or JWK (set) file, or of a directory of such files like a mounted Kubernetes secret.
+     * The loaded keys are used instead of generating keys on startup.
+     */
+    private String file;
+
+    /**
+     * Inline PEM or JWK (set) content, e.g. passed in an environment variable.
+     */
+    private String material;
+
+    /**
+     * Seed deriving every generated key deterministically, so replicas sharing the seed generate identical keys.
+     * Meant for test environments only, anyone knowing the seed can derive the private keys.
+     */
+    private String seed;
+
+    /**
+     * Whether the initial keys are loaded and generated on first use instead of on startup. Speeds up startup at
+     * the cost of a slower first request.
+     */
+    private boolean lazy;
+}
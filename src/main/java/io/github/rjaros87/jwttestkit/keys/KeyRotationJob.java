@@ -0,0 +1,32 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JOSEException;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Rotates every signing key at the configured interval.
+ */
+@Log4j2
+@Singleton
+@Requires(property = "jwttestkit.keys.rotation-interval")
+public class KeyRotationJob {
+
+    private final KeyRing keyRing;
+
+    public KeyRotationJob(KeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    @Scheduled(fixedDelay = "${jwttestkit.keys.rotation-interval}",
+            initialDelay = "${jwttestkit.keys.rotation-interval}")
+    public void rotate() {
+        try {
+            keyRing.rotate(null);
+        } catch (JOSEException e) {
+            log.error("Scheduled key rotation failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.jwk.JWK;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of the key ring.
+ * Active keys sign tokens, retired keys are only published in the JWKS until their grace period ends.
+ * Key-encryption keys are published next to them and carried over unchanged by every rotation.
+ * Every change creates a new snapshot, so readers never need locks.
+ */
+public class KeySet {
+
+    private final Map<SigningAlgorithm, List<SigningKey>> activeKeys;
+    private final List<RetiredKey> retiredKeys;
+    private final Map<String, SigningKey> keysById;
+    private final Map<EncryptionAlgorithm, EncryptionKey> encryptionKeys;
+    @Getter
+    private final JwksDocument jwksDocument;
+    @Getter
+    private final long version;
+    private final long nextExpiry;
+
+    /**
+     * Creates a key set without retired keys.
+     *
+     * @param activeKeys active keys per algorithm, newest first
+     */
+    public KeySet(Map<SigningAlgorithm, List<SigningKey>> activeKeys) {
+        this(activeKeys, Map.of());
+    }
+
+    /**
+     * Creates a key set with key-encryption keys and without retired keys.
+     *
+     * @param activeKeys active keys per algorithm, newest first
+     * @param encryptionKeys key-encryption keys per algorithm
+     */
+    public KeySet(Map<SigningAlgorithm, List<SigningKey>> activeKeys,
+                  Map<EncryptionAlgorithm, EncryptionKey> encryptionKeys) {
+        this(activeKeys, encryptionKeys, List.of(), 0);
+    }
+
+    private KeySet(Map<SigningAlgorithm, List<SigningKey>> activeKeys,
+                   Map<EncryptionAlgorithm, EncryptionKey> encryptionKeys, List<RetiredKey> retiredKeys,
+                   long version) {
+        this.activeKeys = Collections.unmodifiableMap(new EnumMap<>(activeKeys));
+        this.encryptionKeys = Map.copyOf(encryptionKeys);
+        this.retiredKeys = List.copyOf(retiredKeys);
+        this.version = version;
+
+        Map<String, SigningKey> byId = new HashMap<>();
+        activeKeys.values().forEach(keys -> keys.forEach(key -> byId.put(key.getKeyId(), key)));
+        retiredKeys.forEach(retired -> byId.put(retired.key().getKeyId(), retired.key()));
+        this.keysById = Collections.unmodifiableMap(byId);
+
+        this.nextExpiry = retiredKeys.stream().mapToLong(RetiredKey::expiresAt).min().orElse(Long.MAX_VALUE);
+        this.jwksDocument = new JwksDocument(getPublicKeys());
+    }
+
+    /**
+     * Gets the newest active key of the specified algorithm.
+     *
+     * @param algorithm the signing algorithm
+     * @return the key, or null if the algorithm is not enabled
+     */
+    public SigningKey getCurrentKey(SigningAlgorithm algorithm) {
+        List<SigningKey> keys = activeKeys.get(algorithm);
+        return keys == null || keys.isEmpty() ? null : keys.get(0);
+    }
+
+    /**
+     * Gets an active key by its key id.
+     *
+     * @param keyId the key id
+     * @return the key, or null if no active key has this id
+     */
+    public SigningKey getActiveKey(String keyId) {
+        SigningKey key = keysById.get(keyId);
+        return key != null && activeKeys.getOrDefault(key.getAlgorithm(), List.of()).contains(key) ? key : null;
+    }
+
+    /**
+     * Gets an active or retired key by its key id.
+     *
+     * @param keyId the key id
+     * @return the key, or null if the key is not published anymore
+     */
+    public SigningKey getKey(String keyId) {
+        return keysById.get(keyId);
+    }
+
+    /**
+     * Gets the key-encryption key of the specified algorithm.
+     *
+     * @param algorithm the key management algorithm
+     * @return the key, or null if the algorithm is not enabled
+     */
+    public EncryptionKey getEncryptionKey(EncryptionAlgorithm algorithm) {
+        return encryptionKeys.get(algorithm);
+    }
+
+    /**
+     * Gets a key-encryption key by its key id.
+     *
+     * @param keyId the key id
+     * @return the key, or null if no key-encryption key has this id
+     */
+    public EncryptionKey getEncryptionKey(String keyId) {
+        for (EncryptionKey key : encryptionKeys.values()) {
+            if (key.getKeyId().equals(keyId)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the key-encryption keys of every enabled algorithm.
+     *
+     * @return the key-encryption keys
+     */
+    public Collection<EncryptionKey> getEncryptionKeys() {
+        return encryptionKeys.values();
+    }
+
+    /**
+     * Gets every active key, grouped by algorithm with the newest key first.
+     *
+     * @return the active keys
+     */
+    public Map<SigningAlgorithm, List<SigningKey>> getActiveKeys() {
+        return activeKeys;
+    }
+
+    /**
+     * Gets the public keys of all active and retired asymmetric keys, followed by the key-encryption keys.
+     *
+     * @return the public JWKs
+     */
+    public List<JWK> getPublicKeys() {
+        List<JWK> publicKeys = new ArrayList<>();
+        activeKeys.values().forEach(keys -> keys.forEach(key -> addPublicKey(publicKeys, key)));
+        retiredKeys.forEach(retired -> addPublicKey(publicKeys, retired.key()));
+        encryptionKeys.values().forEach(key -> publicKeys.add(key.getPublicJwk()));
+        return publicKeys;
+    }
+
+    /**
+     * Checks whether a retired key has reached the end of its grace period.
+     *
+     * @param now the current time in milliseconds
+     * @return true if {@link #purge(long)} would remove a key
+     */
+    public boolean hasExpiredKeys(long now) {
+        return nextExpiry <= now;
+    }
+
+    /**
+     * Creates a new key set with the specified keys added as the newest active keys.
+     * Keys exceeding the ring size are retired and stay published for the grace period.
+     *
+     * @param newKeys the new keys
+     * @param size the number of active keys kept per algorithm
+     * @param retiredUntil the time in milliseconds until which retired keys stay published
+     * @return the rotated key set
+     */
+    public KeySet rotate(Collection<SigningKey> newKeys, int size, long retiredUntil) {
+        Map<SigningAlgorithm, List<SigningKey>> rotated = new EnumMap<>(SigningAlgorithm.class);
+        activeKeys.forEach((algorithm, keys) -> rotated.put(algorithm, new ArrayList<>(keys)));
+        List<RetiredKey> retired = new ArrayList<>(retiredKeys);
+
+        for (SigningKey newKey : newKeys) {
+            List<SigningKey> keys = rotated.computeIfAbsent(newKey.getAlgorithm(), algorithm -> new ArrayList<>());
+            keys.add(0, newKey);
+            while (keys.size() > size) {
+                retired.add(new RetiredKey(keys.remove(keys.size() - 1), retiredUntil));
+            }
+        }
+        return new KeySet(rotated, encryptionKeys, retired, version + 1);
+    }
+
+    /**
+     * Creates a new key set without the retired keys whose grace period has ended.
+     *
+     * @param now the current time in milliseconds
+     * @return the purged key set
+     */
+    public KeySet purge(long now) {
+        List<RetiredKey> retired = retiredKeys.stream().filter(key -> key.expiresAt() > now).toList();
+        return new KeySet(activeKeys, encryptionKeys, retired, version + 1);
+    }
+
+    private static void addPublicKey(List<JWK> publicKeys, SigningKey key) {
+        JWK publicJwk = key.getPublicJwk();
+        if (publicJwk != null) {
+            publicKeys.add(publicJwk);
+        }
+    }
+
+    private record RetiredKey(SigningKey key, long expiresAt) {
+    }
+}
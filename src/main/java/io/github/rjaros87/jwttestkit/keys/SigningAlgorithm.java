@@ -0,0 +1,78 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.KeyType;
+import lombok.Getter;
+
+/**
+ * JWS algorithms supported by the token signer.
+ * Every algorithm gets its own signing key, so tokens signed with different algorithms carry different key ids.
+ */
+@Getter
+public enum SigningAlgorithm {
+    RS256(JWSAlgorithm.RS256, KeyType.RSA, null, -257),
+    RS384(JWSAlgorithm.RS384, KeyType.RSA, null, -258),
+    RS512(JWSAlgorithm.RS512, KeyType.RSA, null, -259),
+    PS256(JWSAlgorithm.PS256, KeyType.RSA, null, -37),
+    ES256(JWSAlgorithm.ES256, KeyType.EC, Curve.P_256, -7),
+    ES384(JWSAlgorithm.ES384, KeyType.EC, Curve.P_384, -35),
+    EdDSA(JWSAlgorithm.EdDSA, KeyType.OKP, Curve.Ed25519, -8),
+    HS256(JWSAlgorithm.HS256, KeyType.OCT, null, null);
+
+    private final JWSAlgorithm jwsAlgorithm;
+    private final KeyType keyType;
+    private final Curve curve;
+    /**
+     * The COSE algorithm identifier used in CWTs, null for MAC algorithms which COSE_Sign1 does not cover.
+     */
+    private final Integer coseAlgorithm;
+
+    SigningAlgorithm(JWSAlgorithm jwsAlgorithm, KeyType keyType, Curve curve, Integer coseAlgorithm) {
+        this.jwsAlgorithm = jwsAlgorithm;
+        this.keyType = keyType;
+        this.curve = curve;
+        this.coseAlgorithm = coseAlgorithm;
+    }
+
+    /**
+     * Finds the signing algorithm of a JWS algorithm.
+     *
+     * @param jwsAlgorithm the JWS algorithm
+     * @return the signing algorithm
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public static SigningAlgorithm of(JWSAlgorithm jwsAlgorithm) {
+        for (SigningAlgorithm algorithm : values()) {
+            if (algorithm.jwsAlgorithm.equals(jwsAlgorithm)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported signing algorithm: " + jwsAlgorithm);
+    }
+
+    /**
+     * Finds the signing algorithm of a COSE algorithm identifier.
+     *
+     * @param coseAlgorithm the COSE algorithm identifier
+     * @return the signing algorithm
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public static SigningAlgorithm ofCose(long coseAlgorithm) {
+        for (SigningAlgorithm algorithm : values()) {
+            if (algorithm.coseAlgorithm != null && algorithm.coseAlgorithm == coseAlgorithm) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported COSE algorithm: " + coseAlgorithm);
+    }
+
+    /**
+     * Checks whether keys of this algorithm can be published in a JWKS.
+     *
+     * @return false for symmetric (HMAC) algorithms
+     */
+    public boolean isAsymmetric() {
+        return this != HS256;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration of the algorithms used to sign tokens.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("jwttestkit.signing")
+public class SigningConfiguration {
+
+    /**
+     * Algorithm used when a request does not ask for a specific one.
+     */
+    private SigningAlgorithm algorithm = SigningAlgorithm.RS256;
+
+    /**
+     * Additional algorithms that get a key at startup and can be requested per token.
+     */
+    private List<SigningAlgorithm> algorithms = new ArrayList<>();
+
+    /**
+     * Modulus length in bits of generated RSA signing keys, at least 1024. 1024-bit keys sign several times faster
+     * for synthetic load where key strength does not matter, 3072 and 4096 match enterprise key sizes.
+     */
+    private int rsaKeySize = 2048;
+
+    /**
+     * Shared secret for HS256, at least 32 bytes long.
+     */
+    private String hmacSecret;
+
+    /**
+     * JWE key management algorithms that get a key-encryption key at startup, none by default.
+     */
+    private List<EncryptionAlgorithm> encryptionAlgorithms = new ArrayList<>();
+
+    /**
+     * Returns the default algorithm followed by every additionally enabled algorithm.
+     *
+     * @return ordered set of enabled algorithms
+     */
+    public Set<SigningAlgorithm> getEnabledAlgorithms() {
+        Set<SigningAlgorithm> enabled = new LinkedHashSet<>();
+        enabled.add(algorithm);
+        enabled.addAll(algorithms);
+        return enabled;
+    }
+}
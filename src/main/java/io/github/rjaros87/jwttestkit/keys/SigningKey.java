@@ -0,0 +1,143 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.jwk.JWK;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A signing key together with the signer created for it.
+ * Private and public keys are null for symmetric (HMAC) keys.
+ * <p>
+ * The JWS header only depends on the algorithm, the key id and the type, so its base64url encoding is computed
+ * once per type and reused as the prefix of the signing input of every token signed with this key. CWTs reuse the
+ * same signer over the COSE Sig_structure, whose protected header is serialized once as well.
+ * With a {@link JcaSigner} the token is assembled in a single buffer sized up front, as its signatures have a fixed
+ * length.
+ */
+@Getter
+public class SigningKey {
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SigningAlgorithm algorithm;
+    private final JWK jwk;
+    private final JWSSigner signer;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    @Getter(AccessLevel.NONE)
+    private final Map<JOSEObjectType, EncodedHeader> headers = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private volatile CoseHeader coseHeader;
+
+    public SigningKey(SigningAlgorithm algorithm, JWK jwk, JWSSigner signer, PrivateKey privateKey,
+                      PublicKey publicKey) {
+        this.algorithm = algorithm;
+        this.jwk = jwk;
+        this.signer = signer;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+    }
+
+    public String getKeyId() {
+        return jwk.getKeyID();
+    }
+
+    /**
+     * Gets the public part of the key as it is published in the JWKS.
+     *
+     * @return the public JWK, or null for symmetric keys
+     */
+    public JWK getPublicJwk() {
+        return algorithm.isAsymmetric() ? jwk.toPublicJWK() : null;
+    }
+
+    /**
+     * Signs the payload and serializes the result in JWS compact form.
+     *
+     * @param type the type published in the typ header
+     * @param payload the payload bytes
+     * @return the compact JWS
+     * @throws JOSEException if the payload cannot be signed
+     */
+    public String sign(JOSEObjectType type, byte[] payload) throws JOSEException {
+        EncodedHeader header = headers.computeIfAbsent(type, this::encodeHeader);
+        byte[] encodedPayload = BASE64URL.encode(payload);
+        int inputLength = header.prefix().length + encodedPayload.length;
+
+        if (signer instanceof JcaSigner jcaSigner) {
+            // the buffer is sized for the whole token, the signature is appended behind the signing input
+            int tokenLength = inputLength + 1 + encodedLength(jcaSigner.getSignatureLength());
+            byte[] token = Arrays.copyOf(header.prefix(), tokenLength);
+            System.arraycopy(encodedPayload, 0, token, header.prefix().length, encodedPayload.length);
+            byte[] signature = BASE64URL.encode(jcaSigner.sign(token, 0, inputLength));
+            token[inputLength] = '.';
+            System.arraycopy(signature, 0, token, inputLength + 1, signature.length);
+            return new String(token, 0, inputLength + 1 + signature.length, StandardCharsets.US_ASCII);
+        }
+
+        byte[] signingInput = Arrays.copyOf(header.prefix(), inputLength);
+        System.arraycopy(encodedPayload, 0, signingInput, header.prefix().length, encodedPayload.length);
+
+        String signature = signer.sign(header.header(), signingInput).toString();
+        return new String(signingInput, StandardCharsets.US_ASCII) + '.' + signature;
+    }
+
+    /**
+     * Signs the payload and serializes the result as a tagged COSE_Sign1 structure.
+     *
+     * @param payload the CBOR claims
+     * @return the COSE_Sign1 bytes
+     * @throws JOSEException if the payload cannot be signed
+     * @throws IllegalArgumentException if the algorithm has no COSE_Sign1 counterpart
+     */
+    public byte[] signCwt(byte[] payload) throws JOSEException {
+        CoseHeader header = coseHeader;
+        if (header == null) {
+            if (algorithm.getCoseAlgorithm() == null) {
+                throw new IllegalArgumentException(algorithm + " cannot sign a CWT");
+            }
+            header = new CoseHeader(new JWSHeader(algorithm.getJwsAlgorithm()),
+                CoseSign1.protectedHeader(algorithm.getCoseAlgorithm()), getKeyId().getBytes(StandardCharsets.UTF_8));
+            coseHeader = header;
+        }
+
+        byte[] signature = signer.sign(header.jwsHeader(), CoseSign1.toBeSigned(header.protectedHeader(), payload))
+            .decode();
+        return CoseSign1.encode(header.protectedHeader(), header.kid(), payload, signature);
+    }
+
+    private static int encodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    private EncodedHeader encodeHeader(JOSEObjectType type) {
+        JWSHeader header = new JWSHeader.Builder(algorithm.getJwsAlgorithm())
+            .keyID(getKeyId())
+            .type(type)
+            .build();
+        return new EncodedHeader(header, (header.toBase64URL() + ".").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * A JWS header with its base64url encoding, including the trailing dot.
+     */
+    private record EncodedHeader(JWSHeader header, byte[] prefix) {
+    }
+
+    /**
+     * A serialized COSE protected header with the key id and the JWS header the signer expects.
+     */
+    private record CoseHeader(JWSHeader jwsHeader, byte[] protectedHeader, byte[] kid) {
+    }
+}
@@ -0,0 +1,332 @@
+package io.github.rjaros87.jwttestkit.keys;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.util.Base64URL;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.annotation.Nullable;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.spec.NamedParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Factory creating {@link SigningKey} instances for every {@link SigningAlgorithm}.
+ */
+public final class SigningKeys {
+    private static final int MIN_RSA_KEY_SIZE = 1024;
+    private static final int CRT_RECOVERY_ATTEMPTS = 100;
+    private static final int ED25519_KEY_LENGTH = 32;
+    private static final int KEY_ID_LENGTH = 8;
+    private static final byte[] ED25519_PKCS8_PREFIX = HexFormat.of().parseHex("302e020100300506032b657004220420");
+    private static final byte[] ED25519_X509_PREFIX = HexFormat.of().parseHex("302a300506032b6570032100");
+
+    private SigningKeys() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Generates a new key for the specified algorithm.
+     *
+     * @param algorithm the algorithm the key is used with
+     * @param keyId the key id published in the JWS header and JWKS
+     * @param configuration the signing configuration, used for the HMAC secret
+     * @return the generated signing key
+     * @throws JOSEException if the key cannot be generated
+     */
+    public static SigningKey generate(SigningAlgorithm algorithm, String keyId, SigningConfiguration configuration)
+            throws JOSEException {
+        return generate(algorithm, keyId, configuration, null);
+    }
+
+    /**
+     * Generates a new key for the specified algorithm using the given source of randomness.
+     * A seeded source makes the generated key deterministic.
+     *
+     * @param algorithm the algorithm the key is used with
+     * @param keyId the key id published in the JWS header and JWKS
+     * @param configuration the signing configuration, used for the HMAC secret
+     * @param random the source of randomness, or null for the default source
+     * @return the generated signing key
+     * @throws JOSEException if the key cannot be generated
+     */
+    public static SigningKey generate(SigningAlgorithm algorithm, String keyId, SigningConfiguration configuration,
+                                      @Nullable SecureRandom random) throws JOSEException {
+        return generate(algorithm, keyId, configuration, configuration.getRsaKeySize(), random);
+    }
+
+    /**
+     * Generates a new key for the specified algorithm with an explicit RSA key size, e.g. for a single rotated key.
+     *
+     * @param algorithm the algorithm the key is used with
+     * @param keyId the key id published in the JWS header and JWKS
+     * @param configuration the signing configuration, used for the HMAC secret
+     * @param rsaKeySize the modulus length in bits of RSA keys, ignored for other algorithms
+     * @param random the source of randomness, or null for the default source
+     * @return the generated signing key
+     * @throws JOSEException if the key cannot be generated
+     * @throws IllegalArgumentException if the RSA key size is not supported
+     */
+    public static SigningKey generate(SigningAlgorithm algorithm, String keyId, SigningConfiguration configuration,
+                                      int rsaKeySize, @Nullable SecureRandom random) throws JOSEException {
+        return switch (algorithm) {
+            case RS256, RS384, RS512, PS256 -> rsa(algorithm, keyId, rsaKeySize, random);
+            case ES256, ES384 -> ec(algorithm, keyId, random);
+            case EdDSA -> ed25519(keyId, random);
+            case HS256 -> hmac(keyId, configuration.getHmacSecret());
+        };
+    }
+
+    /**
+     * Creates a signing key from a private JWK, e.g. one loaded from a file.
+     * The JWK gets the key use, the algorithm and a thumbprint based key id if they are missing. RSA keys given
+     * by their private exponent only get their prime factors recovered, so they sign with the faster CRT path.
+     *
+     * @param jwk the private JWK
+     * @param algorithm the algorithm the key is used with
+     * @return the signing key
+     * @throws JOSEException if the key does not match the algorithm or is not a private key
+     */
+    public static SigningKey fromJwk(JWK jwk, SigningAlgorithm algorithm) throws JOSEException {
+        if (!algorithm.getKeyType().equals(jwk.getKeyType())
+                || algorithm.getCurve() != null && !algorithm.getCurve().equals(curveOf(jwk))) {
+            throw new JOSEException("Key " + jwk.getKeyID() + " cannot be used with " + algorithm);
+        }
+        if (!jwk.isPrivate()) {
+            throw new JOSEException("Key " + jwk.getKeyID() + " is not a private key");
+        }
+
+        String keyId = jwk.getKeyID() != null ? jwk.getKeyID()
+                : jwk.computeThumbprint().toString().substring(0, KEY_ID_LENGTH);
+
+        if (jwk instanceof RSAKey rsaKey) {
+            RSAKey key = new RSAKey.Builder(withCrtParameters(rsaKey)).keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm.getJwsAlgorithm()).keyID(keyId).build();
+            return signingKey(algorithm, key, key.toPrivateKey(), key.toPublicKey());
+        }
+        if (jwk instanceof ECKey ecKey) {
+            ECKey key = new ECKey.Builder(ecKey).keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm.getJwsAlgorithm()).keyID(keyId).build();
+            return signingKey(algorithm, key, key.toPrivateKey(), key.toPublicKey());
+        }
+        if (jwk instanceof OctetKeyPair octetKeyPair) {
+            OctetKeyPair key = new OctetKeyPair.Builder(octetKeyPair).keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm.getJwsAlgorithm()).keyID(keyId).build();
+            KeyPair keyPair = ed25519KeyPair(key.getX().decode(), key.getD().decode());
+            return signingKey(algorithm, key, keyPair.getPrivate(), keyPair.getPublic());
+        }
+        OctetSequenceKey key = new OctetSequenceKey.Builder((OctetSequenceKey) jwk).keyUse(KeyUse.SIGNATURE)
+                .algorithm(algorithm.getJwsAlgorithm()).keyID(keyId).build();
+        return new SigningKey(algorithm, key, new MACSigner(key), null, null);
+    }
+
+    /**
+     * Creates a deterministic source of randomness from a seed.
+     * The same seed always produces the same sequence, so keys generated with it are identical on every replica.
+     *
+     * @param seed the seed
+     * @return the seeded source of randomness
+     */
+    public static SecureRandom seededRandom(String seed) {
+        try {
+            // SHA1PRNG only uses the given seed when it is set before the first output is requested
+            SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(sha256(seed));
+            return random;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA1PRNG is not available", e);
+        }
+    }
+
+    /**
+     * Derives a key id from a seed.
+     *
+     * @param seed the seed
+     * @return the key id
+     */
+    public static String seededKeyId(String seed) {
+        return HexFormat.of().formatHex(sha256("kid:" + seed)).substring(0, KEY_ID_LENGTH);
+    }
+
+    /**
+     * Checks that RSA keys of the given size can be generated.
+     *
+     * @param keySize the modulus length in bits
+     * @throws IllegalArgumentException if the size is below 1024 bits or not a multiple of 8
+     */
+    public static void checkRsaKeySize(int keySize) {
+        if (keySize < MIN_RSA_KEY_SIZE || keySize % Byte.SIZE != 0) {
+            throw new IllegalArgumentException("RSA key size must be a multiple of 8 of at least " + MIN_RSA_KEY_SIZE
+                    + " bits: " + keySize);
+        }
+    }
+
+    /**
+     * Recovers the prime factors and CRT parameters of an RSA key holding only the modulus and the exponents,
+     * following NIST SP 800-56B, appendix C. Without them the JDK signs with a single full-size exponentiation
+     * instead of two half-size ones.
+     */
+    private static RSAKey withCrtParameters(RSAKey rsaKey) throws JOSEException {
+        if (rsaKey.getFirstPrimeFactor() != null || rsaKey.getPrivateExponent() == null) {
+            return rsaKey;
+        }
+
+        BigInteger n = rsaKey.getModulus().decodeToBigInteger();
+        BigInteger e = rsaKey.getPublicExponent().decodeToBigInteger();
+        BigInteger d = rsaKey.getPrivateExponent().decodeToBigInteger();
+        BigInteger nMinusOne = n.subtract(BigInteger.ONE);
+        BigInteger k = d.multiply(e).subtract(BigInteger.ONE);
+        int t = k.getLowestSetBit();
+        BigInteger r = k.shiftRight(t);
+
+        for (int g = 2; g < CRT_RECOVERY_ATTEMPTS; g++) {
+            BigInteger y = BigInteger.valueOf(g).modPow(r, n);
+            if (y.equals(BigInteger.ONE) || y.equals(nMinusOne)) {
+                continue;
+            }
+            for (int i = 0; i < t; i++) {
+                BigInteger x = y.modPow(BigInteger.TWO, n);
+                if (x.equals(BigInteger.ONE)) {
+                    BigInteger p = y.subtract(BigInteger.ONE).gcd(n);
+                    BigInteger q = n.divide(p);
+                    return new RSAKey.Builder(rsaKey)
+                            .firstPrimeFactor(Base64URL.encode(p))
+                            .secondPrimeFactor(Base64URL.encode(q))
+                            .firstFactorCRTExponent(Base64URL.encode(d.mod(p.subtract(BigInteger.ONE))))
+                            .secondFactorCRTExponent(Base64URL.encode(d.mod(q.subtract(BigInteger.ONE))))
+                            .firstCRTCoefficient(Base64URL.encode(q.modInverse(p)))
+                            .build();
+                }
+                if (x.equals(nMinusOne)) {
+                    break;
+                }
+                y = x;
+            }
+        }
+        throw new JOSEException("Key " + rsaKey.getKeyID() + " is not a valid RSA private key");
+    }
+
+    private static SigningKey signingKey(SigningAlgorithm algorithm, JWK jwk, PrivateKey privateKey,
+                                         PublicKey publicKey) {
+        return new SigningKey(algorithm, jwk, new JcaSigner(algorithm, privateKey), privateKey, publicKey);
+    }
+
+    private static SigningKey rsa(SigningAlgorithm algorithm, String keyId, int keySize, SecureRandom random)
+            throws JOSEException {
+        checkRsaKeySize(keySize);
+        // keys below the 2048 bits Nimbus enforces are only meant for load tests; the generator adds CRT parameters
+        RSAKey rsaKey = new RSAKeyGenerator(keySize, keySize < RSAKeyGenerator.MIN_KEY_SIZE_BITS)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(algorithm.getJwsAlgorithm())
+                .keyID(keyId)
+                .secureRandom(random)
+                .generate();
+        return signingKey(algorithm, rsaKey, rsaKey.toPrivateKey(), rsaKey.toPublicKey());
+    }
+
+    private static SigningKey ec(SigningAlgorithm algorithm, String keyId, SecureRandom random)
+            throws JOSEException {
+        ECKey ecKey = new ECKeyGenerator(algorithm.getCurve())
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(algorithm.getJwsAlgorithm())
+                .keyID(keyId)
+                .secureRandom(random)
+                .generate();
+        return signingKey(algorithm, ecKey, ecKey.toPrivateKey(), ecKey.toPublicKey());
+    }
+
+    private static SigningKey ed25519(String keyId, SecureRandom random) throws JOSEException {
+        KeyPair keyPair;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("Ed25519");
+            if (random != null) {
+                generator.initialize(NamedParameterSpec.ED25519, random);
+            }
+            keyPair = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException("Unable to generate Ed25519 key: " + e.getMessage(), e);
+        }
+
+        // X.509 and PKCS#8 encodings of Ed25519 keys end with the raw 32-byte key
+        OctetKeyPair octetKeyPair = new OctetKeyPair.Builder(Curve.Ed25519,
+                Base64URL.encode(rawKey(keyPair.getPublic().getEncoded())))
+                .d(Base64URL.encode(rawKey(keyPair.getPrivate().getEncoded())))
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(SigningAlgorithm.EdDSA.getJwsAlgorithm())
+                .keyID(keyId)
+                .build();
+        return signingKey(SigningAlgorithm.EdDSA, octetKeyPair, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    private static SigningKey hmac(String keyId, String secret) throws JOSEException {
+        if (secret == null || secret.isBlank()) {
+            throw new ConfigurationException("jwttestkit.signing.hmac-secret must be set to enable HS256");
+        }
+
+        OctetSequenceKey octetSequenceKey = new OctetSequenceKey.Builder(secret.getBytes(StandardCharsets.UTF_8))
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(SigningAlgorithm.HS256.getJwsAlgorithm())
+                .keyID(keyId)
+                .build();
+        return new SigningKey(SigningAlgorithm.HS256, octetSequenceKey, new MACSigner(octetSequenceKey), null, null);
+    }
+
+    /**
+     * Creates JCA Ed25519 keys from their raw 32-byte representations.
+     *
+     * @param x the raw public key
+     * @param d the raw private key
+     * @return the key pair
+     * @throws JOSEException if the keys are invalid
+     */
+    static KeyPair ed25519KeyPair(byte[] x, byte[] d) throws JOSEException {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("Ed25519");
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(concat(ED25519_X509_PREFIX, x)));
+            PrivateKey privateKey = d == null ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(concat(ED25519_PKCS8_PREFIX, d)));
+            return new KeyPair(publicKey, privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException("Invalid Ed25519 key: " + e.getMessage(), e);
+        }
+    }
+
+    static byte[] rawKey(byte[] encoded) {
+        return Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+    }
+
+    private static Curve curveOf(JWK jwk) {
+        if (jwk instanceof ECKey ecKey) {
+            return ecKey.getCurve();
+        }
+        return jwk instanceof OctetKeyPair octetKeyPair ? octetKeyPair.getCurve() : null;
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] key) {
+        byte[] result = Arrays.copyOf(prefix, prefix.length + key.length);
+        System.arraycopy(key, 0, result, prefix.length, key.length);
+        return result;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package io.github.rjaros87.jwttestkit.load;
+
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.model.Claims;
+import io.github.rjaros87.jwttestkit.model.LoadReport;
+import io.github.rjaros87.jwttestkit.model.LoadScenario;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.utils.ClaimsFactory;
+import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Drives a target API with tokens minted in-process, replacing a separate load tool that first fetches tokens
+ * from the test kit over the network.
+ * <p>
+ * Without a rate, a run keeps {@code concurrency} requests in flight for its whole duration (closed model). With a
+ * rate, requests are started at fixed intervals (open model); ticks arriving while {@code concurrency} requests are
+ * in flight are dropped and counted. Tokens are signed on the parallel scheduler and their signing time is not
+ * part of the recorded latency.
+ */
+@Log4j2
+@Singleton
+@Requires(property = "jwttestkit.load.enabled", value = "true")
+public class LoadGenerator {
+
+    private final TokenSigner tokenSigner;
+    private final ClaimsFactory claimsFactory;
+    private final LoadGeneratorConfiguration configuration;
+    private final Map<String, LoadRun> runs = new LinkedHashMap<>();
+
+    public LoadGenerator(TokenSigner tokenSigner, ClaimsFactory claimsFactory,
+                         LoadGeneratorConfiguration configuration) {
+        this.tokenSigner = tokenSigner;
+        this.claimsFactory = claimsFactory;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Starts a run of the scenario in the background.
+     *
+     * @param scenario the scenario to run
+     * @return the initial report of the run
+     * @throws IllegalArgumentException if the scenario is invalid
+     */
+    public LoadReport start(LoadScenario scenario) {
+        URI target = validate(scenario);
+        Supplier<Claims> claims = claimsFactory.template(scenario.getType(), scenario.getClaims());
+        SigningOptions options = new SigningOptions(scenario.getAlg(), null, scenario.getFormat(), null);
+        // fail fast on claims or options that cannot be signed instead of failing every request
+        mint(claims, options);
+
+        HttpClient client;
+        try {
+            client = HttpClient.create(target.resolve("/").toURL());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid url: " + e.getMessage(), e);
+        }
+        String path = target.getRawPath().isEmpty() ? "/" : target.getRawPath();
+        String uri = target.getRawQuery() == null ? path : path + "?" + target.getRawQuery();
+        HttpMethod method = HttpMethod.parse(scenario.getMethod().toUpperCase(Locale.ROOT));
+
+        LoadRun run = new LoadRun(UUID.randomUUID().toString(), scenario);
+        Flux<Long> ticks = scenario.getRate() == null
+            ? Flux.generate(() -> 0L, (tick, sink) -> {
+                sink.next(tick);
+                return tick + 1;
+            })
+            : Flux.interval(Duration.ofNanos(1_000_000_000L / scenario.getRate()))
+                .onBackpressureDrop(tick -> run.drop());
+
+        register(run);
+        log.info("Starting load run {} against {} {}", run.getId(), method, scenario.getUrl());
+        run.start(ticks
+            .take(Duration.ofSeconds(scenario.getDuration()))
+            .flatMap(tick -> send(run, client, method, uri, claims, options), scenario.getConcurrency())
+            .doFinally(signal -> client.close())
+            .subscribe(
+                ignored -> { },
+                error -> {
+                    log.error("Load run {} failed: {}", run.getId(), error.getMessage());
+                    run.fail(error);
+                },
+                () -> {
+                    log.info("Finished load run {}", run.getId());
+                    run.complete();
+                }));
+        return run.report();
+    }
+
+    /**
+     * Gets the report of a run.
+     *
+     * @param id the run id
+     * @return the report, or null if the run is unknown
+     */
+    public LoadReport report(String id) {
+        LoadRun run = find(id);
+        return run == null ? null : run.report();
+    }
+
+    /**
+     * Gets the latency percentile distribution of a run.
+     *
+     * @param id the run id
+     * @return the distribution in the HdrHistogram text format, or null if the run is unknown
+     */
+    public String percentileDistribution(String id) {
+        LoadRun run = find(id);
+        return run == null ? null : run.percentileDistribution();
+    }
+
+    /**
+     * Gets the reports of every retained run, oldest first.
+     *
+     * @return the reports
+     */
+    public List<LoadReport> reports() {
+        List<LoadRun> retained;
+        synchronized (runs) {
+            retained = new ArrayList<>(runs.values());
+        }
+        return retained.stream().map(LoadRun::report).toList();
+    }
+
+    /**
+     * Stops a run, requests in flight are abandoned.
+     *
+     * @param id the run id
+     * @return the final report, or null if the run is unknown
+     */
+    public LoadReport stop(String id) {
+        LoadRun run = find(id);
+        if (run == null) {
+            return null;
+        }
+        run.stop();
+        return run.report();
+    }
+
+    /**
+     * Stops every run.
+     */
+    @PreDestroy
+    void stopAll() {
+        synchronized (runs) {
+            runs.values().forEach(LoadRun::stop);
+        }
+    }
+
+    private Mono<Integer> send(LoadRun run, HttpClient client, HttpMethod method, String uri,
+                               Supplier<Claims> claims, SigningOptions options) {
+        return Mono.fromCallable(() -> mint(claims, options))
+            .subscribeOn(Schedulers.parallel())
+            .flatMap(token -> {
+                MutableHttpRequest<Object> request = HttpRequest.create(method, uri).bearerAuth(token);
+                run.getScenario().getHeaders().forEach(request::header);
+                if (run.getScenario().getBody() != null) {
+                    request.body(run.getScenario().getBody()).contentType(MediaType.APPLICATION_JSON_TYPE);
+                }
+                long sent = System.nanoTime();
+                return Mono.from(client.exchange(request, byte[].class))
+                    .map(response -> response.code())
+                    .onErrorResume(HttpClientResponseException.class,
+                        e -> Mono.just(e.getStatus().getCode()))
+                    .onErrorResume(e -> {
+                        log.debug("Load run {} request failed: {}", run.getId(), e.getMessage());
+                        return Mono.just(0);
+                    })
+                    .doOnNext(status -> run.record(status, System.nanoTime() - sent));
+            });
+    }
+
+    private String mint(Supplier<Claims> claims, SigningOptions options) {
+        try {
+            return tokenSigner.sign(claims.get(), options).getAccessToken();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to sign token: " + e.getMessage(), e);
+        }
+    }
+
+    private URI validate(LoadScenario scenario) {
+        if (scenario.getUrl() == null) {
+            throw new IllegalArgumentException("url is required");
+        }
+        URI target;
+        try {
+            target = URI.create(scenario.getUrl());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid url: " + e.getMessage(), e);
+        }
+        if (!"http".equalsIgnoreCase(target.getScheme()) && !"https".equalsIgnoreCase(target.getScheme())
+                || target.getHost() == null) {
+            throw new IllegalArgumentException("url must be an absolute http or https URL");
+        }
+        if (scenario.getRate() != null && (scenario.getRate() < 1 || scenario.getRate() > 1_000_000)) {
+            throw new IllegalArgumentException("rate must be between 1 and 1000000");
+        }
+        if (scenario.getConcurrency() < 1 || scenario.getConcurrency() > configuration.getMaxConcurrency()) {
+            throw new IllegalArgumentException("concurrency must be between 1 and "
+                + configuration.getMaxConcurrency());
+        }
+        if (scenario.getDuration() < 1 || scenario.getDuration() > configuration.getMaxDuration().toSeconds()) {
+            throw new IllegalArgumentException("duration must be between 1 and "
+                + configuration.getMaxDuration().toSeconds() + " seconds");
+        }
+        if (HttpMethod.parse(scenario.getMethod().toUpperCase(Locale.ROOT)) == HttpMethod.CUSTOM) {
+            throw new IllegalArgumentException("Unsupported method: " + scenario.getMethod());
+        }
+        return target;
+    }
+
+    private LoadRun find(String id) {
+        synchronized (runs) {
+            return runs.get(id);
+        }
+    }
+
+    private void register(LoadRun run) {
+        synchronized (runs) {
+            runs.put(run.getId(), run);
+            int finished = (int) runs.values().stream().filter(retained -> !retained.isRunning()).count();
+            Iterator<LoadRun> iterator = runs.values().iterator();
+            while (finished > configuration.getRetainedRuns() && iterator.hasNext()) {
+                if (!iterator.next().isRunning()) {
+                    iterator.remove();
+                    finished--;
+                }
+            }
+        }
+    }
+}
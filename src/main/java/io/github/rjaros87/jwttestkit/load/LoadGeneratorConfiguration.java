@@ -0,0 +1,37 @@
+package io.github.rjaros87.jwttestkit.load;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the built-in load generator.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("jwttestkit.load")
+public class LoadGeneratorConfiguration {
+
+    /**
+     * Whether the load generator endpoints are available. The generator sends requests to any URL it is given,
+     * so it is disabled unless explicitly enabled.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of requests in flight per run.
+     */
+    private int maxConcurrency = 1000;
+
+    /**
+     * Maximum duration of a run.
+     */
+    private Duration maxDuration = Duration.ofHours(1);
+
+    /**
+     * Number of finished runs whose reports are kept.
+     */
+    private int retainedRuns = 20;
+}
@@ -0,0 +1,148 @@
+package io.github.rjaros87.jwttestkit.load;
+
+import io.github.rjaros87.jwttestkit.model.LoadReport;
+import io.github.rjaros87.jwttestkit.model.LoadReport.State;
+import io.github.rjaros87.jwttestkit.model.LoadScenario;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import reactor.core.Disposable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A single run of a load test scenario.
+ * Latencies are recorded in microseconds into an HdrHistogram {@link Recorder}, which is lock-free for the
+ * recording threads; reports swap out the interval histogram and add it to the totals.
+ */
+class LoadRun {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    @Getter
+    private final String id;
+    @Getter
+    private final LoadScenario scenario;
+    private final long startedAt = System.nanoTime();
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private Histogram interval;
+    private volatile long finishedAt;
+    @Getter
+    private volatile State state = State.RUNNING;
+    private volatile String failure;
+    private volatile Disposable subscription;
+
+    LoadRun(String id, LoadScenario scenario) {
+        this.id = id;
+        this.scenario = scenario;
+    }
+
+    void start(Disposable subscription) {
+        this.subscription = subscription;
+    }
+
+    /**
+     * Records a completed request. Latencies are recorded as measured: at a fixed rate a slow response does not
+     * delay the following requests, which are sent and measured on their own, and ticks that could not be sent
+     * are counted by {@link #drop()} instead of being synthesized into the histogram.
+     *
+     * @param status the response status, 0 if there was no response
+     * @param latencyNanos the time from sending the request to the response
+     */
+    void record(int status, long latencyNanos) {
+        recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        requests.increment();
+        if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    void drop() {
+        dropped.increment();
+    }
+
+    void complete() {
+        finish(State.COMPLETED, null);
+    }
+
+    void fail(Throwable error) {
+        finish(State.FAILED, error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage());
+    }
+
+    void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+        finish(State.STOPPED, null);
+    }
+
+    boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    /**
+     * Creates a report of the requests completed so far.
+     *
+     * @return the report
+     */
+    synchronized LoadReport report() {
+        Histogram latency = collect();
+        double elapsed = ((finishedAt == 0 ? System.nanoTime() : finishedAt) - startedAt) / 1e9;
+        long completed = requests.sum();
+
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+
+        return new LoadReport(id, state, scenario.getUrl(), elapsed, completed, errors.sum(), dropped.sum(),
+            elapsed > 0 ? completed / elapsed : 0, counts,
+            new LoadReport.Latency(
+                latency.getMean() / MICROS_PER_MILLI,
+                latency.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                latency.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                latency.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                latency.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                latency.getMaxValue() / MICROS_PER_MILLI),
+            failure);
+    }
+
+    /**
+     * Writes the full latency percentile distribution in milliseconds, in the format read by the HdrHistogram
+     * plotter.
+     *
+     * @return the percentile distribution
+     */
+    synchronized String percentileDistribution() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PrintStream printStream = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+            collect().outputPercentileDistribution(printStream, MICROS_PER_MILLI);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private Histogram collect() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return total;
+    }
+
+    private synchronized void finish(State finalState, String reason) {
+        if (state == State.RUNNING) {
+            finishedAt = System.nanoTime();
+            failure = reason;
+            state = finalState;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Request for minting many tokens of the same provider type at once.
+ */
+@Introspected
+@Serdeable
+@Getter
+public class BatchTokenRequest {
+
+    @JsonProperty("type")
+    private final TokenType type;
+
+    @JsonProperty("count")
+    private final Integer count;
+
+    @JsonProperty("claims")
+    private final Map<String, Object> claims;
+
+    /**
+     * Constructs a new BatchTokenRequest.
+     *
+     * @param type the token provider type
+     * @param count the number of tokens to mint
+     * @param claims claims shared by every token, missing claims are generated per token
+     */
+    @JsonCreator
+    public BatchTokenRequest(TokenType type, Integer count, Map<String, Object> claims) {
+        this.type = type;
+        this.count = count;
+        this.claims = claims;
+    }
+}
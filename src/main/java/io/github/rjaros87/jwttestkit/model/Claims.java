@@ -24,4 +24,14 @@ public interface Claims {
      * @return the object to sign
      */
     Object objectToSign();
+
+    /**
+     * Checks whether the claims are fully determined by the request, i.e. no claim got a random or time based
+     * default, so signing the same request again produces the same payload.
+     *
+     * @return true if the signed token may be cached
+     */
+    default boolean reproducible() {
+        return false;
+    }
 }
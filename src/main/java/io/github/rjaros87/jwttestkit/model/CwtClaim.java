@@ -0,0 +1,56 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import lombok.Getter;
+
+/**
+ * Registered claims that a CBOR Web Token (RFC 8392) writes with integer keys instead of their names.
+ * The {@code cti} claim carries the JWT {@code jti} as a byte string; all other claims keep their text names.
+ */
+@Getter
+public enum CwtClaim {
+    ISS(1, "iss"),
+    SUB(2, "sub"),
+    AUD(3, "aud"),
+    EXP(4, "exp"),
+    NBF(5, "nbf"),
+    IAT(6, "iat"),
+    CTI(7, "jti");
+
+    private final int key;
+    private final String jwtName;
+
+    CwtClaim(int key, String jwtName) {
+        this.key = key;
+        this.jwtName = jwtName;
+    }
+
+    /**
+     * Finds the registered claim of a JWT claim name.
+     *
+     * @param name the JWT claim name
+     * @return the claim, or null if the name keeps its text key
+     */
+    public static CwtClaim ofName(String name) {
+        for (CwtClaim claim : values()) {
+            if (claim.jwtName.equals(name)) {
+                return claim;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the registered claim of an integer key.
+     *
+     * @param key the CWT claim key
+     * @return the claim, or null if the key is not registered
+     */
+    public static CwtClaim ofKey(long key) {
+        for (CwtClaim claim : values()) {
+            if (claim.key == key) {
+                return claim;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.rjaros87.jwttestkit.model;
+
+/**
+ * Decoding strategies of the {@link Decoder}.
+ */
+public enum DecodeMode {
+    /**
+     * Parses the token with Nimbus and validates the registered claims.
+     */
+    FULL,
+    /**
+     * Splits the token and copies the decoded header and payload JSON to the response, only checking that both
+     * are well-formed JSON objects.
+     */
+    FAST
+}
@@ -1,32 +1,219 @@
 package io.github.rjaros87.jwttestkit.model;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jwt.EncryptedJWT;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTParser;
+import io.github.rjaros87.jwttestkit.keys.CoseSign1;
+import io.github.rjaros87.jwttestkit.keys.EncryptionKey;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.log4j.Log4j2;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Decoder class for decoding JWT tokens.
- * It uses the Nimbus JOSE + JWT library to parse and decode JWT tokens.
+ * It uses the Nimbus JOSE + JWT library to parse and decode JWT tokens, or a fast path that copies the decoded
+ * JSON segments without building any object trees. CWTs are decoded into the same header and payload shape.
+ * JWEs are decrypted with the key-encryption keys of the key ring and decoded like the JWS they contain.
  */
 @Log4j2
 @Singleton
 public class Decoder {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final byte[] HEADER_PREFIX = "{\"header\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PAYLOAD_PREFIX = ",\"payload\":".getBytes(StandardCharsets.US_ASCII);
+    private static final String ALG_LABEL = String.valueOf(CoseSign1.ALG);
+    private static final String KID_LABEL = String.valueOf(CoseSign1.KID);
+
+    private final KeyRing keyRing;
+
+    /**
+     * Constructs a new Decoder that cannot decrypt JWEs.
+     */
+    public Decoder() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new Decoder decrypting JWEs with the key-encryption keys of the specified key ring.
+     *
+     * @param keyRing the key ring, or null to reject JWEs
+     */
+    @Inject
+    public Decoder(@Nullable KeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
 
     /**
      * Decodes a JWT token and returns its header and payload as a map.
+     * The header and payload of a JWE are those of the nested JWS, the JWE header is returned as {@code encryption}.
      *
      * @param token the JWT token to decode
      * @return a map containing the header and payload of the JWT
+     * @throws ParseException if the token is malformed or a JWE cannot be decrypted
      */
     public Map<String, Map<String, Object>> decode(String token) throws ParseException {
         JWT jwt = JWTParser.parse(token);
+        if (jwt instanceof EncryptedJWT jwe) {
+            Map<String, Map<String, Object>> nested = decode(decrypt(jwe));
+            return Map.of(
+                "encryption", jwe.getHeader().toJSONObject(),
+                "header", nested.get("header"),
+                "payload", nested.get("payload")
+            );
+        }
         return Map.of(
             "header", jwt.getHeader().toJSONObject(),
             "payload", jwt.getJWTClaimsSet().toJSONObject()
         );
     }
+
+    /**
+     * Decodes a signed or unsigned JWT token into a {@code {"header":...,"payload":...}} JSON document.
+     * The decoded segments are copied unchanged after checking that both are well-formed JSON objects.
+     * A JWE is decrypted first and the nested JWS is decoded.
+     *
+     * @param token the JWT token to decode
+     * @return the JSON document as UTF-8 bytes
+     * @throws ParseException if the token is malformed or a JWE cannot be decrypted
+     */
+    public byte[] decodeRaw(String token) throws ParseException {
+        String trimmed = token.strip();
+        if (trimmed.chars().filter(c -> c == '.').count() == 4) {
+            return decodeRaw(decrypt(JWEObject.parse(trimmed)));
+        }
+        int headerEnd = trimmed.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : trimmed.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || trimmed.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new ParseException("Invalid JWT serialization: expected header, payload and signature", 0);
+        }
+
+        byte[] header = decodeSegment(trimmed, 0, headerEnd, "header");
+        byte[] payload = decodeSegment(trimmed, headerEnd + 1, payloadEnd, "payload");
+
+        byte[] document = new byte[HEADER_PREFIX.length + header.length + PAYLOAD_PREFIX.length + payload.length + 1];
+        int offset = append(document, 0, HEADER_PREFIX);
+        offset = append(document, offset, header);
+        offset = append(document, offset, PAYLOAD_PREFIX);
+        offset = append(document, offset, payload);
+        document[offset] = '}';
+        return document;
+    }
+
+    /**
+     * Decodes a CWT, a tagged or untagged COSE_Sign1 structure, and returns its header and claims as a map.
+     * The algorithm, key id and registered claims are returned under their JWT names, so a CWT decodes like the
+     * JWS with the same claims. The signature is not verified.
+     *
+     * @param token the CWT bytes
+     * @return a map containing the header and payload of the CWT
+     * @throws ParseException if the token is not a COSE_Sign1 structure or the payload is not a CBOR map
+     */
+    public Map<String, Map<String, Object>> decodeCwt(byte[] token) throws ParseException {
+        CoseSign1 cose = CoseSign1.parse(token);
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        putHeaderParameters(header, CoseSign1.readMap(cose.protectedHeader()));
+        putHeaderParameters(header, cose.unprotectedHeader());
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : CoseSign1.readMap(cose.payload()).entrySet()) {
+            CwtClaim claim = registeredClaim(entry.getKey());
+            if (claim == null) {
+                payload.put(entry.getKey(), entry.getValue());
+            } else if (claim == CwtClaim.CTI && entry.getValue() instanceof byte[] cti) {
+                payload.put(claim.getJwtName(), new String(cti, StandardCharsets.UTF_8));
+            } else {
+                payload.put(claim.getJwtName(), entry.getValue());
+            }
+        }
+
+        return Map.of(
+            "header", header,
+            "payload", payload
+        );
+    }
+
+    private String decrypt(JWEObject jwe) throws ParseException {
+        String kid = jwe.getHeader().getKeyID();
+        EncryptionKey encryptionKey = keyRing == null || kid == null ? null : keyRing.current().getEncryptionKey(kid);
+        if (encryptionKey == null) {
+            throw new ParseException("Unknown encryption key: " + kid, 0);
+        }
+        try {
+            jwe.decrypt(encryptionKey.getDecrypter());
+        } catch (JOSEException e) {
+            throw new ParseException("Unable to decrypt JWE: " + e.getMessage(), 0);
+        }
+        return jwe.getPayload().toString();
+    }
+
+    private static void putHeaderParameters(Map<String, Object> header, Map<String, Object> parameters) {
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            Object value = entry.getValue();
+            if (ALG_LABEL.equals(entry.getKey()) && value instanceof Number alg) {
+                header.put("alg", algorithmName(alg.longValue()));
+            } else if (KID_LABEL.equals(entry.getKey()) && value instanceof byte[] kid) {
+                header.put("kid", new String(kid, StandardCharsets.UTF_8));
+            } else {
+                header.put(entry.getKey(), value);
+            }
+        }
+    }
+
+    private static Object algorithmName(long coseAlgorithm) {
+        try {
+            return SigningAlgorithm.ofCose(coseAlgorithm).getJwsAlgorithm().getName();
+        } catch (IllegalArgumentException e) {
+            return coseAlgorithm;
+        }
+    }
+
+    private static CwtClaim registeredClaim(String key) {
+        if (key.isEmpty() || key.length() > 9 || !key.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return CwtClaim.ofKey(Long.parseLong(key));
+    }
+
+    private static byte[] decodeSegment(String token, int start, int end, String name) throws ParseException {
+        byte[] json;
+        try {
+            json = Base64.getUrlDecoder().decode(token.substring(start, end));
+        } catch (IllegalArgumentException e) {
+            throw new ParseException("Invalid JWT " + name + ": " + e.getMessage(), start);
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ParseException("Invalid JWT " + name + ": not a JSON object", start);
+            }
+            parser.skipChildren();
+            if (parser.nextToken() != null) {
+                throw new ParseException("Invalid JWT " + name + ": trailing content", start);
+            }
+        } catch (IOException e) {
+            throw new ParseException("Invalid JWT " + name + ": " + e.getMessage(), start);
+        }
+        return json;
+    }
+
+    private static int append(byte[] target, int offset, byte[] source) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
 }
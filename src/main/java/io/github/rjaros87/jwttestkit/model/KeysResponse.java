@@ -6,6 +6,8 @@ import io.micronaut.serde.annotation.Serdeable;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.List;
+
 @Introspected
 @Serdeable
 @AllArgsConstructor
@@ -17,4 +19,29 @@ public class KeysResponse {
 
     @JsonProperty("public_key")
     private String publicKey;
+
+    @JsonProperty("keys")
+    private List<Key> keys;
+
+    /**
+     * PEM encoded key pair of a single signing key.
+     */
+    @Introspected
+    @Serdeable
+    @AllArgsConstructor
+    @Getter
+    public static class Key {
+
+        @JsonProperty("kid")
+        private String kid;
+
+        @JsonProperty("alg")
+        private String alg;
+
+        @JsonProperty("private_key")
+        private String privateKey;
+
+        @JsonProperty("public_key")
+        private String publicKey;
+    }
 }
@@ -0,0 +1,59 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.Map;
+
+/**
+ * Progress and results of a load test run.
+ *
+ * @param id the run id
+ * @param state the state of the run
+ * @param url the target URL
+ * @param elapsed seconds since the run started, up to its end
+ * @param requests the number of completed requests
+ * @param errors the number of requests that failed or got a non-2xx status
+ * @param dropped the number of requests not sent because the concurrency limit was reached at the requested rate
+ * @param throughput completed requests per second
+ * @param statuses the number of responses per status code, 0 for requests without response
+ * @param latency the latency of the target in milliseconds, excluding token minting
+ * @param failure the reason a failed run stopped
+ */
+@Serdeable
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LoadReport(
+    String id,
+    State state,
+    String url,
+    double elapsed,
+    long requests,
+    long errors,
+    long dropped,
+    double throughput,
+    Map<Integer, Long> statuses,
+    Latency latency,
+    @Nullable String failure) {
+
+    /**
+     * State of a load test run.
+     */
+    public enum State {
+        RUNNING, COMPLETED, STOPPED, FAILED
+    }
+
+    /**
+     * Latency distribution in milliseconds.
+     *
+     * @param mean the mean latency
+     * @param p50 the median latency
+     * @param p90 the 90th percentile
+     * @param p99 the 99th percentile
+     * @param p999 the 99.9th percentile
+     * @param max the maximum latency
+     */
+    @Serdeable
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+}
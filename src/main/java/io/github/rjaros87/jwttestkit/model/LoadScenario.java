@@ -0,0 +1,84 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Load test scenario: requests sent to a target URL, each carrying a freshly minted bearer token.
+ */
+@Introspected
+@Serdeable
+@Getter
+public class LoadScenario {
+
+    @JsonProperty("url")
+    private final String url;
+
+    @JsonProperty("method")
+    private final String method;
+
+    @JsonProperty("rate")
+    private final Integer rate;
+
+    @JsonProperty("concurrency")
+    private final Integer concurrency;
+
+    @JsonProperty("duration")
+    private final Integer duration;
+
+    @JsonProperty("type")
+    private final TokenType type;
+
+    @JsonProperty("claims")
+    private final Map<String, Object> claims;
+
+    @JsonProperty("alg")
+    private final SigningAlgorithm alg;
+
+    @JsonProperty("format")
+    private final TokenFormat format;
+
+    @JsonProperty("body")
+    private final String body;
+
+    @JsonProperty("headers")
+    private final Map<String, String> headers;
+
+    /**
+     * Constructs a new LoadScenario.
+     *
+     * @param url the target URL
+     * @param method the HTTP method, defaults to GET
+     * @param rate requests per second, or null to send as fast as the concurrency allows
+     * @param concurrency the maximum number of requests in flight, defaults to 10
+     * @param duration the duration of the run in seconds, defaults to 10
+     * @param type the token provider type, defaults to sample tokens
+     * @param claims claims shared by every token, missing claims are generated per token
+     * @param alg the signing algorithm, defaults to the configured algorithm
+     * @param format the token serialization, defaults to JWS
+     * @param body the request body sent as JSON, if any
+     * @param headers additional request headers
+     */
+    @JsonCreator
+    public LoadScenario(String url, String method, Integer rate, Integer concurrency, Integer duration,
+                        TokenType type, Map<String, Object> claims, SigningAlgorithm alg, TokenFormat format, String body,
+                        Map<String, String> headers) {
+        this.url = url;
+        this.method = method != null ? method : "GET";
+        this.rate = rate;
+        this.concurrency = concurrency != null ? concurrency : 10;
+        this.duration = duration != null ? duration : 10;
+        this.type = type != null ? type : TokenType.SAMPLE;
+        this.claims = claims;
+        this.alg = alg;
+        this.format = format;
+        this.body = body;
+        this.headers = headers != null ? headers : Map.of();
+    }
+}
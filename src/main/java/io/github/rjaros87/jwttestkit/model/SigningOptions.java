@@ -0,0 +1,49 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import io.github.rjaros87.jwttestkit.keys.EncryptionAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.annotation.QueryValue;
+import io.swagger.v3.oas.annotations.Parameter;
+
+/**
+ * Per-request signing options shared by every token endpoint.
+ *
+ * @param alg the signing algorithm, or null for the default algorithm
+ * @param kid the id of the active key to sign with, or null for the newest key of the algorithm
+ * @param format the token serialization, or null for a compact JWS
+ * @param encryption the JWE key management algorithm, or null for RSA-OAEP-256
+ */
+@Introspected
+public record SigningOptions(
+    @Parameter(description = "Signing algorithm, defaults to the configured algorithm")
+    @Nullable @QueryValue SigningAlgorithm alg,
+    @Parameter(description = "Id of an active key to sign with, defaults to the newest key of the algorithm")
+    @Nullable @QueryValue String kid,
+    @Parameter(description = "Token serialization, JWS, CWT or JWE, defaults to JWS")
+    @Nullable @QueryValue TokenFormat format,
+    @Parameter(description = "JWE key management algorithm, RSA_OAEP_256 or ECDH_ES_A256KW, defaults to RSA_OAEP_256")
+    @Nullable @QueryValue EncryptionAlgorithm encryption) {
+
+    private static final SigningOptions DEFAULTS = new SigningOptions(null, null, null, null);
+
+    /**
+     * Gets the options signing with the newest key of the default algorithm.
+     *
+     * @return the default options
+     */
+    public static SigningOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Gets the options signing with the newest key of the specified algorithm.
+     *
+     * @param alg the signing algorithm, or null for the default algorithm
+     * @return the signing options
+     */
+    public static SigningOptions of(@Nullable SigningAlgorithm alg) {
+        return alg == null ? DEFAULTS : new SigningOptions(alg, null, null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.rjaros87.jwttestkit.model;
+
+/**
+ * Serializations of signed tokens.
+ */
+public enum TokenFormat {
+    /**
+     * JSON claims in a compact JWS.
+     */
+    JWS,
+    /**
+     * CBOR claims in a COSE_Sign1 structure (CBOR Web Token, RFC 8392), base64url encoded in the token response.
+     */
+    CWT,
+    /**
+     * A compact JWS nested in a compact JWE, encrypted with A256GCM for a key-encryption key of the key ring.
+     */
+    JWE
+}
@@ -0,0 +1,49 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.github.rjaros87.jwttestkit.model.awscognito.AWSCognitoToken;
+import io.github.rjaros87.jwttestkit.model.custom.CustomToken;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.model.sample.SampleToken;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.Getter;
+
+/**
+ * Token providers supported by the token endpoints.
+ */
+@Serdeable
+@Getter
+public enum TokenType {
+    SAMPLE("sample", SampleToken.class),
+    OKTA("okta", OktaToken.class),
+    AWS_COGNITO("aws-cognito", AWSCognitoToken.class),
+    CUSTOM("custom", CustomToken.class);
+
+    private final String value;
+    private final Class<? extends Claims> modelClass;
+
+    TokenType(String value, Class<? extends Claims> modelClass) {
+        this.value = value;
+        this.modelClass = modelClass;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Finds the provider type of a token model.
+     *
+     * @param claims the token model
+     * @return the type, or null if the model does not belong to any provider
+     */
+    public static TokenType of(Claims claims) {
+        for (TokenType type : values()) {
+            if (type.modelClass.isInstance(claims)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Result of verifying a token against the keys of the key ring.
+ *
+ * @param index the position of the token in a bulk request, null for single verifications
+ * @param valid whether the signature and the time and issuer/audience claims are valid
+ * @param kid the key id of the token header
+ * @param alg the algorithm of the token header
+ * @param error the reason the token is invalid, null for valid tokens
+ */
+@Serdeable
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VerificationResult(
+    @Nullable Long index,
+    boolean valid,
+    @Nullable String kid,
+    @Nullable String alg,
+    @Nullable String error) {
+
+    /**
+     * Creates the result of a valid token.
+     *
+     * @param kid the key id of the token header
+     * @param alg the algorithm of the token header
+     * @return the result
+     */
+    public static VerificationResult valid(String kid, String alg) {
+        return new VerificationResult(null, true, kid, alg, null);
+    }
+
+    /**
+     * Creates the result of an invalid token.
+     *
+     * @param kid the key id of the token header, if known
+     * @param alg the algorithm of the token header, if known
+     * @param error the reason the token is invalid
+     * @return the result
+     */
+    public static VerificationResult invalid(@Nullable String kid, @Nullable String alg, String error) {
+        return new VerificationResult(null, false, kid, alg, error);
+    }
+
+    /**
+     * Gets this result at the specified position of a bulk request.
+     *
+     * @param index the position of the token
+     * @return the result with the index
+     */
+    public VerificationResult withIndex(long index) {
+        return new VerificationResult(index, valid, kid, alg, error);
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.rjaros87.jwttestkit.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.annotation.QueryValue;
+import io.swagger.v3.oas.annotations.Parameter;
+
+/**
+ * Per-request options of the verification endpoints.
+ *
+ * @param iss the expected issuer, or null to accept any issuer
+ * @param aud the expected audience, or null to accept any audience
+ */
+@Introspected
+public record VerifyOptions(
+    @Parameter(description = "Expected issuer, any issuer is accepted when not set")
+    @Nullable @QueryValue String iss,
+    @Parameter(description = "Expected audience, any audience is accepted when not set")
+    @Nullable @QueryValue String aud) {
+
+    private static final VerifyOptions DEFAULTS = new VerifyOptions(null, null);
+
+    /**
+     * Gets the options accepting any issuer and audience.
+     *
+     * @return the default options
+     */
+    public static VerifyOptions defaults() {
+        return DEFAULTS;
+    }
+}
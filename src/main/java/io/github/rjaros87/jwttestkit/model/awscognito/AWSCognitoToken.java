@@ -9,14 +9,14 @@ import io.github.rjaros87.jwttestkit.utils.JWTUtils;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.serde.annotation.Serdeable;
 import io.micronaut.serde.config.naming.SnakeCaseStrategy;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Represents an AWS Cognito token with various claims.
+ * Claims missing from the request get random defaults; supplied claims never generate one.
  */
 @Introspected
 @Serdeable(naming = SnakeCaseStrategy.class)
@@ -25,78 +25,88 @@ import java.util.UUID;
 public class AWSCognitoToken implements Claims {
 
     @JsonProperty("exp")
-    private Long exp = JWTUtils.getDefaultExpTime();
+    private final Long exp;
 
     @JsonProperty("sub")
-    private String sub = UUID.randomUUID().toString();
+    private final String sub;
 
     @JsonProperty("device_key")
-    private String deviceKey = UUID.randomUUID().toString();
+    private final String deviceKey;
 
     @JsonProperty("cognito:groups")
-    private List<String> cognitoGroups = List.of(Faker.randomWord());
+    private final List<String> cognitoGroups;
 
     @JsonProperty("iss")
-    private String iss = Faker.randomUrl();
+    private final String iss;
 
     @JsonProperty("version")
-    private Integer version = 123;
+    private final Integer version;
 
     @JsonProperty("client_id")
-    private String clientId = Faker.randomText(10);
+    private final String clientId;
 
     @JsonProperty("origin_jti")
-    private String originJti = UUID.randomUUID().toString();
+    private final String originJti;
 
     @JsonProperty("event_id")
-    private String eventId = UUID.randomUUID().toString();
+    private final String eventId;
 
     @JsonProperty("token_use")
-    private String tokenUse = "access";
+    private final String tokenUse;
 
     @JsonProperty("scope")
-    private String scope = Faker.randomWord();
+    private final String scope;
 
     @JsonProperty("auth_time")
-    private Long authTime = JWTUtils.getDefaultIatTime();
+    private final Long authTime;
 
     @JsonProperty("iat")
-    private Long iat = JWTUtils.getDefaultIatTime();
+    private final Long iat;
 
     @JsonProperty("jti")
-    private String jti = UUID.randomUUID().toString();
+    private final String jti;
 
     @JsonProperty("username")
-    private String username = Faker.randomWord();
+    private final String username;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean reproducible;
 
     @JsonCreator
     public AWSCognitoToken(String sub, String deviceKey, List<String> cognitoGroups, String iss, Integer version,
                            String clientId, String originJti, String eventId, String tokenUse, String scope,
                            Long authTime, Long exp, Long iat, String jti, String username) {
-        this.exp = Optional.ofNullable(exp).orElse(this.exp);
-        this.sub = Optional.ofNullable(sub).orElse(this.sub);
-        this.deviceKey = Optional.ofNullable(deviceKey).orElse(this.deviceKey);
-        this.cognitoGroups = Optional.ofNullable(cognitoGroups).orElse(this.cognitoGroups);
-        this.iss = Optional.ofNullable(iss).orElse(this.iss);
-        this.version = Optional.ofNullable(version).orElse(this.version);
-        this.clientId = Optional.ofNullable(clientId).orElse(this.clientId);
-        this.originJti = Optional.ofNullable(originJti).orElse(this.originJti);
-        this.eventId = Optional.ofNullable(eventId).orElse(this.eventId);
-        this.tokenUse = Optional.ofNullable(tokenUse).orElse(this.tokenUse);
-        this.scope = Optional.ofNullable(scope).orElse(this.scope);
-        this.authTime = Optional.ofNullable(authTime).orElse(this.authTime);
-        this.iat = Optional.ofNullable(iat).orElse(this.iat);
-        this.jti = Optional.ofNullable(jti).orElse(this.jti);
-        this.username = Optional.ofNullable(username).orElse(this.username);
+        this.exp = exp != null ? exp : JWTUtils.getDefaultExpTime();
+        this.sub = sub != null ? sub : Faker.randomUuid();
+        this.deviceKey = deviceKey != null ? deviceKey : Faker.randomUuid();
+        this.cognitoGroups = cognitoGroups != null ? cognitoGroups : List.of(Faker.randomWord());
+        this.iss = iss != null ? iss : Faker.randomUrl();
+        this.version = version != null ? version : 123;
+        this.clientId = clientId != null ? clientId : Faker.randomText(10);
+        this.originJti = originJti != null ? originJti : Faker.randomUuid();
+        this.eventId = eventId != null ? eventId : Faker.randomUuid();
+        this.tokenUse = tokenUse != null ? tokenUse : "access";
+        this.scope = scope != null ? scope : Faker.randomWord();
+        this.authTime = authTime != null ? authTime : JWTUtils.getDefaultIatTime();
+        this.iat = iat != null ? iat : JWTUtils.getDefaultIatTime();
+        this.jti = jti != null ? jti : Faker.randomUuid();
+        this.username = username != null ? username : Faker.randomWord();
+        this.reproducible = exp != null && sub != null && deviceKey != null && cognitoGroups != null && iss != null
+            && clientId != null && originJti != null && eventId != null && scope != null && authTime != null
+            && iat != null && jti != null && username != null;
     }
 
     public AWSCognitoToken(String clientId, String scope) {
-        this.clientId = Optional.ofNullable(clientId).orElse(this.clientId);
-        this.scope = Optional.ofNullable(scope).orElse(this.scope);
+        this(null, null, null, null, null, clientId, null, null, null, scope, null, null, null, null, null);
     }
 
     @Override
     public Object objectToSign() {
         return this;
     }
+
+    @Override
+    public boolean reproducible() {
+        return reproducible;
+    }
 }
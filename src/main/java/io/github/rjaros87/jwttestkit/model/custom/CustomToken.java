@@ -44,4 +44,9 @@ public class CustomToken implements Claims {
     public Object objectToSign() {
         return customClaims;
     }
+
+    @Override
+    public boolean reproducible() {
+        return true;
+    }
 }
@@ -8,14 +8,14 @@ import io.github.rjaros87.jwttestkit.utils.Faker;
 import io.github.rjaros87.jwttestkit.utils.JWTUtils;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.serde.annotation.Serdeable;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Represents an Okta token with various claims.
+ * Claims missing from the request get random defaults; supplied claims never generate one.
  */
 @Introspected
 @Serdeable
@@ -24,48 +24,58 @@ import java.util.UUID;
 public class OktaToken implements Claims {
 
     @JsonProperty("sub")
-    private String sub = UUID.randomUUID().toString();
+    private final String sub;
 
     @JsonProperty("name")
-    private String name = Faker.randomWord();
+    private final String name;
 
     @JsonProperty("preferred_username")
-    private String preferredUsername = Faker.randomText(5);
+    private final String preferredUsername;
 
     @JsonProperty("email")
-    private String email = Faker.randomEmailAddress();
+    private final String email;
 
     @JsonProperty("groups")
-    private List<String> groups = List.of(Faker.randomText(5));
+    private final List<String> groups;
 
     @JsonProperty("exp")
-    private Long exp = JWTUtils.getDefaultExpTime();
+    private final Long exp;
 
     @JsonProperty("iat")
-    private Long iat = JWTUtils.getDefaultIatTime();
+    private final Long iat;
 
     @JsonProperty("iss")
-    private String iss = Faker.randomUrl();
+    private final String iss;
 
     @JsonProperty("aud")
-    private String aud = Faker.randomUrl();
+    private final String aud;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean reproducible;
 
     @JsonCreator
     public OktaToken(String sub, String name, String preferredUsername, String email, List<String> groups, Long exp,
                     Long iat, String iss, String aud) {
-        this.sub = Optional.ofNullable(sub).orElse(this.sub);
-        this.name = Optional.ofNullable(name).orElse(this.name);
-        this.preferredUsername = Optional.ofNullable(preferredUsername).orElse(this.preferredUsername);
-        this.email = Optional.ofNullable(email).orElse(this.email);
-        this.groups = Optional.ofNullable(groups).orElse(this.groups);
-        this.exp = Optional.ofNullable(exp).orElse(this.exp);
-        this.iat = Optional.ofNullable(iat).orElse(this.iat);
-        this.iss = Optional.ofNullable(iss).orElse(this.iss);
-        this.aud = Optional.ofNullable(aud).orElse(this.aud);
+        this.sub = sub != null ? sub : Faker.randomUuid();
+        this.name = name != null ? name : Faker.randomWord();
+        this.preferredUsername = preferredUsername != null ? preferredUsername : Faker.randomText(5);
+        this.email = email != null ? email : Faker.randomEmailAddress();
+        this.groups = groups != null ? groups : List.of(Faker.randomText(5));
+        this.exp = exp != null ? exp : JWTUtils.getDefaultExpTime();
+        this.iat = iat != null ? iat : JWTUtils.getDefaultIatTime();
+        this.iss = iss != null ? iss : Faker.randomUrl();
+        this.aud = aud != null ? aud : Faker.randomUrl();
+        this.reproducible = sub != null && name != null && preferredUsername != null && email != null
+            && groups != null && exp != null && iat != null && iss != null && aud != null;
     }
 
     @Override
     public Object objectToSign() {
         return this;
     }
+
+    @Override
+    public boolean reproducible() {
+        return reproducible;
+    }
 }
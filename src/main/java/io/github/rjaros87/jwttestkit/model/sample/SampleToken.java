@@ -9,8 +9,6 @@ import io.micronaut.serde.annotation.Serdeable;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
-import java.util.UUID;
-
 /**
  * Represents a sample token with various claims.
  */
@@ -24,7 +22,7 @@ public class SampleToken implements Claims {
     protected Long exp = JWTUtils.getDefaultExpTime();
 
     @JsonProperty("sub")
-    private String sub = UUID.randomUUID().toString();
+    private String sub = Faker.randomUuid();
 
     @JsonProperty("iat")
     private Long iat = JWTUtils.getDefaultIatTime();
@@ -0,0 +1,137 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import io.github.rjaros87.jwttestkit.model.DecodeMode;
+import io.github.rjaros87.jwttestkit.model.Decoder;
+import io.github.rjaros87.jwttestkit.utils.LineSplitter.Line;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.serde.ObjectMapper;
+import jakarta.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes many tokens per request and streams one newline-delimited JSON result per token, in input order.
+ * Tokens are decoded in parallel with at most one token per core in flight, and the input is consumed as it
+ * arrives, so memory stays bounded regardless of the request size. A token that cannot be decoded produces an
+ * error line instead of failing the whole request.
+ */
+@Log4j2
+@Singleton
+public class BulkDecoder {
+    private static final int CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
+    private final Decoder decoder;
+    private final ObjectMapper objectMapper;
+    private final int maxTokenLength;
+    private final Map<DecodeMode, Counter> failures = new EnumMap<>(DecodeMode.class);
+
+    public BulkDecoder(Decoder decoder, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                       @Value("${jwttestkit.decode.max-token-length:65536}") int maxTokenLength) {
+        this.decoder = decoder;
+        this.objectMapper = objectMapper;
+        this.maxTokenLength = maxTokenLength;
+        for (DecodeMode mode : DecodeMode.values()) {
+            failures.put(mode, decodeFailures(meterRegistry, "bulk", mode));
+        }
+    }
+
+    /**
+     * Gets the counter of tokens that could not be decoded.
+     *
+     * @param meterRegistry the meter registry
+     * @param endpoint the endpoint decoding the token, {@code single}, {@code bulk} or {@code cwt}
+     * @param mode the decoding strategy
+     * @return the counter
+     */
+    public static Counter decodeFailures(MeterRegistry meterRegistry, String endpoint, DecodeMode mode) {
+        return Counter.builder("jwttestkit.decode.failures")
+            .description("Number of tokens that could not be decoded")
+            .tag("endpoint", endpoint)
+            .tag("mode", mode.name())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Decodes a newline-separated stream of tokens. Blank lines are skipped.
+     *
+     * @param body the request body chunks
+     * @param mode the decoding strategy
+     * @return one JSON document per token
+     */
+    public Flux<byte[]> decodeLines(Flux<byte[]> body, DecodeMode mode) {
+        return decode(LineSplitter.lines(body, maxTokenLength), mode);
+    }
+
+    /**
+     * Decodes a stream of tokens, e.g. the elements of a JSON array.
+     *
+     * @param tokens the tokens
+     * @param mode the decoding strategy
+     * @return one JSON document per token
+     */
+    public Flux<byte[]> decodeTokens(Flux<String> tokens, DecodeMode mode) {
+        return decode(LineSplitter.tokens(tokens, maxTokenLength), mode);
+    }
+
+    private Flux<byte[]> decode(Flux<Line> lines, DecodeMode mode) {
+        return lines.index()
+            .flatMapSequential(line -> Mono.fromCallable(() -> decode(line.getT1(), line.getT2(), mode))
+                .subscribeOn(Schedulers.parallel()), CONCURRENCY, 1);
+    }
+
+    private byte[] decode(long index, Line line, DecodeMode mode) throws IOException {
+        try {
+            if (line.error() != null) {
+                failures.get(mode).increment();
+                return error(index, line.error());
+            }
+            if (mode == DecodeMode.FAST) {
+                // {"header":...} becomes {"index":N,"header":...}
+                byte[] raw = decoder.decodeRaw(line.token());
+                byte[] prefix = ("{\"index\":" + index + ",").getBytes(StandardCharsets.US_ASCII);
+                byte[] json = new byte[prefix.length + raw.length];
+                System.arraycopy(prefix, 0, json, 0, prefix.length);
+                System.arraycopy(raw, 1, json, prefix.length, raw.length - 1);
+                json[json.length - 1] = '\n';
+                return json;
+            }
+
+            Map<String, Map<String, Object>> decoded = decoder.decode(line.token());
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", index);
+            result.put("header", decoded.get("header"));
+            result.put("payload", decoded.get("payload"));
+            return toJsonLine(result);
+        } catch (ParseException | RuntimeException e) {
+            log.debug("Unable to decode token {}: {}", index, e.getMessage());
+            failures.get(mode).increment();
+            return error(index, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+    }
+
+    private byte[] error(long index, String message) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("error", message);
+        return toJsonLine(result);
+    }
+
+    private byte[] toJsonLine(Object value) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(value);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+}
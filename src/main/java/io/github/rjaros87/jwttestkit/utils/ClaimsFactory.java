@@ -0,0 +1,72 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import io.github.rjaros87.jwttestkit.model.Claims;
+import io.github.rjaros87.jwttestkit.model.TokenType;
+import io.github.rjaros87.jwttestkit.model.custom.CustomToken;
+import io.github.rjaros87.jwttestkit.model.sample.SampleToken;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.json.tree.JsonNode;
+import io.micronaut.serde.ObjectMapper;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Creates token models of any {@link TokenType} from a claim template.
+ * Claims missing from the template are generated for every created token, so tokens created from the same
+ * template are distinct.
+ */
+@Singleton
+public class ClaimsFactory {
+
+    private final ObjectMapper objectMapper;
+
+    public ClaimsFactory(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Compiles a claim template into a supplier of token models.
+     *
+     * @param type the token provider type
+     * @param claims the claim template, ignored for sample tokens
+     * @return a supplier creating a new token model on every call
+     * @throws IllegalArgumentException if the template does not match the token model
+     */
+    public Supplier<Claims> template(TokenType type, @Nullable Map<String, Object> claims) {
+        Map<String, Object> template = claims == null ? Map.of() : claims;
+        return switch (type) {
+            case SAMPLE -> SampleToken::new;
+            case CUSTOM -> () -> custom(template);
+            case OKTA, AWS_COGNITO -> bind(type, template);
+        };
+    }
+
+    private Supplier<Claims> bind(TokenType type, Map<String, Object> template) {
+        JsonNode tree;
+        try {
+            tree = objectMapper.writeValueToTree(template);
+            // fail fast on templates that do not match the model instead of failing every token
+            objectMapper.readValueFromTree(tree, type.getModelClass());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid " + type.getValue() + " claims: " + e.getMessage(), e);
+        }
+
+        return () -> {
+            try {
+                return objectMapper.readValueFromTree(tree, type.getModelClass());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static CustomToken custom(Map<String, Object> template) {
+        CustomToken token = new CustomToken();
+        template.forEach(token::addCustomClaim);
+        return token;
+    }
+}
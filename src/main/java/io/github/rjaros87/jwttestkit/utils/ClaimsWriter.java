@@ -0,0 +1,219 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.github.rjaros87.jwttestkit.model.Claims;
+import io.github.rjaros87.jwttestkit.model.CwtClaim;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the claims of a token straight to JSON payload bytes.
+ * The property list of every claims type is compiled once from its bean introspection, so signing a token neither
+ * reflects over the bean nor builds an intermediate claims map. The bytes are written into a per-thread buffer
+ * that is reused for every token.
+ * <p>
+ * A CWT writer writes the same properties as CBOR, with the registered claims under their integer keys.
+ */
+public class ClaimsWriter {
+
+    private final ObjectMapper objectMapper;
+    private final CBORFactory cborFactory;
+    private final boolean skipNulls;
+    private final boolean skipEmpty;
+    private final ThreadLocal<ByteArrayBuilder> buffers = ThreadLocal.withInitial(ByteArrayBuilder::new);
+    private final ClassValue<TypeWriter> writers = new ClassValue<>() {
+        @Override
+        protected TypeWriter computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    /**
+     * Constructs a new ClaimsWriter honouring the property inclusion of the specified ObjectMapper.
+     *
+     * @param objectMapper the ObjectMapper used for claim values without a dedicated writer
+     */
+    public ClaimsWriter(ObjectMapper objectMapper) {
+        this(objectMapper, null);
+    }
+
+    private ClaimsWriter(ObjectMapper objectMapper, CBORFactory cborFactory) {
+        this.objectMapper = objectMapper;
+        this.cborFactory = cborFactory;
+        JsonInclude.Include inclusion = objectMapper.getSerializationConfig().getDefaultPropertyInclusion()
+                .getValueInclusion();
+        this.skipNulls = inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS;
+        this.skipEmpty = inclusion == JsonInclude.Include.NON_EMPTY;
+    }
+
+    /**
+     * Constructs a new ClaimsWriter writing CWT claims sets (RFC 8392) as CBOR maps.
+     *
+     * @param objectMapper the ObjectMapper used for claim values without a dedicated writer
+     * @return the CWT claims writer
+     */
+    public static ClaimsWriter cwt(ObjectMapper objectMapper) {
+        return new ClaimsWriter(objectMapper, new CBORFactory());
+    }
+
+    /**
+     * Writes the claims of the specified token as a JSON object, or a CBOR map for a CWT writer.
+     *
+     * @param token the token to write
+     * @return the payload bytes
+     * @throws IOException if a claim value cannot be serialized
+     */
+    public byte[] write(Claims token) throws IOException {
+        ByteArrayBuilder buffer = buffers.get();
+        buffer.reset();
+        try (JsonGenerator generator = createGenerator(buffer)) {
+            Object source = token.objectToSign();
+            writers.get(source.getClass()).write(generator, source);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeBean(JsonGenerator generator, Object bean, List<PropertyWriter> properties)
+            throws IOException {
+        generator.writeStartObject();
+        for (PropertyWriter property : properties) {
+            Object value = property.property().get(bean);
+            if (!include(value)) {
+                continue;
+            }
+            if (property.claim() == null) {
+                generator.writeFieldName(property.name());
+                writeValue(generator, value);
+            } else {
+                writeCwtClaim(generator, property.claim(), value);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeClaims(JsonGenerator generator, Map<?, ?> claims) throws IOException {
+        if (cborFactory == null) {
+            writeMap(generator, claims);
+            return;
+        }
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> entry : claims.entrySet()) {
+            String name = String.valueOf(entry.getKey());
+            CwtClaim claim = CwtClaim.ofName(name);
+            if (claim == null) {
+                generator.writeFieldName(name);
+                writeValue(generator, entry.getValue());
+            } else {
+                writeCwtClaim(generator, claim, entry.getValue());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeCwtClaim(JsonGenerator generator, CwtClaim claim, Object value) throws IOException {
+        generator.writeFieldId(claim.getKey());
+        if (claim == CwtClaim.CTI && value instanceof String string) {
+            generator.writeBinary(string.getBytes(StandardCharsets.UTF_8));
+        } else {
+            writeValue(generator, value);
+        }
+    }
+
+    private void writeMap(JsonGenerator generator, Map<?, ?> map) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            generator.writeFieldName(String.valueOf(entry.getKey()));
+            writeValue(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String string) {
+            generator.writeString(string);
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Integer number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Collection<?> collection) {
+            generator.writeStartArray();
+            for (Object element : collection) {
+                writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(generator, map);
+        } else {
+            generator.writeObject(value);
+        }
+    }
+
+    private boolean include(Object value) {
+        if (value == null) {
+            return !skipNulls;
+        }
+        if (!skipEmpty) {
+            return true;
+        }
+        return !(value instanceof String string && string.isEmpty()
+                || value instanceof Collection<?> collection && collection.isEmpty()
+                || value instanceof Map<?, ?> map && map.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeWriter compile(Class<?> type) {
+        if (Map.class.isAssignableFrom(type)) {
+            return (generator, source) -> writeClaims(generator, (Map<?, ?>) source);
+        }
+        return BeanIntrospector.SHARED.findIntrospection(type)
+                .<TypeWriter>map(introspection -> {
+                    List<PropertyWriter> properties = ((BeanIntrospection<Object>) introspection)
+                            .getBeanProperties().stream()
+                            .filter(property -> !property.isWriteOnly())
+                            .map(this::compileProperty)
+                            .toList();
+                    return (generator, source) -> writeBean(generator, source, properties);
+                })
+                .orElse(JsonGenerator::writeObject);
+    }
+
+    private PropertyWriter compileProperty(BeanProperty<Object, Object> property) {
+        String name = property.stringValue(JsonProperty.class).orElse(property.getName());
+        CwtClaim claim = cborFactory == null ? null : CwtClaim.ofName(name);
+        return new PropertyWriter(new SerializedString(name), claim, property);
+    }
+
+    private JsonGenerator createGenerator(ByteArrayBuilder buffer) throws IOException {
+        if (cborFactory == null) {
+            return objectMapper.createGenerator(buffer);
+        }
+        JsonGenerator generator = cborFactory.createGenerator(buffer);
+        generator.setCodec(objectMapper);
+        return generator;
+    }
+
+    @FunctionalInterface
+    private interface TypeWriter {
+        void write(JsonGenerator generator, Object source) throws IOException;
+    }
+
+    private record PropertyWriter(SerializedString name, CwtClaim claim, BeanProperty<Object, Object> property) {
+    }
+}
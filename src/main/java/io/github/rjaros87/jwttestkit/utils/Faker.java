@@ -1,9 +1,9 @@
 package io.github.rjaros87.jwttestkit.utils;
 
-import java.security.SecureRandom;
-import java.util.Random;
-import java.util.UUID;
-
+/**
+ * Generates fake claim data.
+ * Values come from a pluggable {@link RandomSource}, the per-thread fast source unless configured otherwise.
+ */
 public class Faker {
 
     private Faker() {
@@ -14,26 +14,40 @@ public class Faker {
             "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit"
     };
 
-    private static final Random RANDOM = new SecureRandom();
+    private static volatile RandomSource random = RandomSource.fast();
+
+    /**
+     * Replaces the random source used for all fake data.
+     *
+     * @param randomSource the new random source
+     */
+    public static void setRandomSource(RandomSource randomSource) {
+        random = randomSource;
+    }
 
     public static String randomWord() {
-        return WORDS[RANDOM.nextInt(WORDS.length)];
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static String randomUuid() {
+        return random.nextUuid().toString();
     }
 
     public static String randomUrl() {
-        return "http://example.com/" + UUID.randomUUID().toString();
+        return "http://example.com/" + randomUuid();
     }
 
     public static int randomDigitNotZero() {
-        return RANDOM.nextInt(9) + 1; // Random number between 1 and 9
+        return random.nextInt(9) + 1; // Random number between 1 and 9
     }
 
     public static String randomText(int length) {
-        StringBuilder text = new StringBuilder(length);
+        RandomSource source = random;
+        char[] text = new char[length];
         for (int i = 0; i < length; i++) {
-            text.append((char) ('a' + RANDOM.nextInt(26)));
+            text[i] = (char) ('a' + source.nextInt(26));
         }
-        return text.toString();
+        return new String(text);
     }
 
     public static String randomEmailAddress() {
@@ -41,4 +55,4 @@ public class Faker {
         String domain = randomText(5);
         return username + "@" + domain + ".com";
     }
-}
\ No newline at end of file
+}
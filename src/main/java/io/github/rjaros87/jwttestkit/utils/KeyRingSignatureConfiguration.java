@@ -0,0 +1,51 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.SignedJWT;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration;
+import jakarta.inject.Singleton;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Validates the signature of bearer tokens directly against the key ring, so authenticated endpoints never fetch
+ * the JWKS of this service over HTTP. Rotated keys are picked up immediately and retired keys keep validating
+ * until their grace period ends.
+ */
+@Singleton
+public class KeyRingSignatureConfiguration implements SignatureConfiguration {
+
+    private final KeyRing keyRing;
+    private final TokenVerifier tokenVerifier;
+
+    public KeyRingSignatureConfiguration(KeyRing keyRing, TokenVerifier tokenVerifier) {
+        this.keyRing = keyRing;
+        this.tokenVerifier = tokenVerifier;
+    }
+
+    @Override
+    public String supportedAlgorithmsMessage() {
+        return Arrays.stream(SigningAlgorithm.values())
+            .filter(algorithm -> keyRing.current().getCurrentKey(algorithm) != null)
+            .map(SigningAlgorithm::name)
+            .collect(Collectors.joining(", ", "Only the ", " algorithms of the key ring are supported"));
+    }
+
+    @Override
+    public boolean supports(JWSAlgorithm algorithm) {
+        try {
+            return keyRing.current().getCurrentKey(SigningAlgorithm.of(algorithm)) != null;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean verify(SignedJWT jwt) throws JOSEException {
+        return tokenVerifier.verifySignature(jwt);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a streamed request body into tokens, one per line, keeping at most one partial line between chunks.
+ * Blank lines are skipped, lines longer than the maximum length are dropped and reported as errors.
+ */
+class LineSplitter {
+    private final int maxLength;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private boolean overflow;
+
+    LineSplitter(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Splits the body into lines.
+     *
+     * @param body the body chunks
+     * @param maxLength the maximum length of a line
+     * @return the lines in input order
+     */
+    static Flux<Line> lines(Flux<byte[]> body, int maxLength) {
+        return Flux.defer(() -> {
+            LineSplitter splitter = new LineSplitter(maxLength);
+            return body.concatMapIterable(splitter::accept)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(splitter.finish())));
+        });
+    }
+
+    /**
+     * Wraps the elements of a JSON array the same way as lines.
+     *
+     * @param tokens the tokens
+     * @param maxLength the maximum length of a token
+     * @return the tokens in input order
+     */
+    static Flux<Line> tokens(Flux<String> tokens, int maxLength) {
+        return tokens.filter(token -> !token.isBlank())
+            .map(token -> token.length() > maxLength ? Line.tooLong() : new Line(token.strip(), null));
+    }
+
+    List<Line> accept(byte[] chunk) {
+        List<Line> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < chunk.length; i++) {
+            if (chunk[i] == '\n') {
+                append(chunk, start, i - start);
+                emit(lines);
+                start = i + 1;
+            }
+        }
+        append(chunk, start, chunk.length - start);
+        return lines;
+    }
+
+    List<Line> finish() {
+        List<Line> lines = new ArrayList<>();
+        emit(lines);
+        return lines;
+    }
+
+    private void append(byte[] chunk, int offset, int length) {
+        if (overflow || pending.size() + length > maxLength) {
+            overflow = true;
+            pending.reset();
+        } else {
+            pending.write(chunk, offset, length);
+        }
+    }
+
+    private void emit(List<Line> lines) {
+        if (overflow) {
+            lines.add(Line.tooLong());
+        } else {
+            String token = pending.toString(StandardCharsets.UTF_8).strip();
+            if (!token.isEmpty()) {
+                lines.add(new Line(token, null));
+            }
+        }
+        pending.reset();
+        overflow = false;
+    }
+
+    /**
+     * A token of a bulk request, or the reason it cannot be processed.
+     */
+    record Line(String token, String error) {
+        static Line tooLong() {
+            return new Line(null, "Token exceeds the maximum length");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.exceptions.ConfigurationException;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Configuration of the random source used for fake claim data.
+ * The bean is created on startup and installs the configured source in {@link Faker}.
+ */
+@Log4j2
+@Getter
+@Setter
+@Context
+@ConfigurationProperties("jwttestkit.random")
+public class RandomConfiguration {
+
+    /**
+     * Random engines available for fake claim data.
+     */
+    public enum Mode {
+        /**
+         * Per-thread random, the default.
+         */
+        FAST,
+        /**
+         * Deterministic sequence derived from the configured seed.
+         */
+        SEEDED,
+        /**
+         * Shared SecureRandom, for claims that must not be predictable.
+         */
+        SECURE
+    }
+
+    /**
+     * The random engine used for fake claim data.
+     */
+    private Mode mode = Mode.FAST;
+
+    /**
+     * The seed of the {@link Mode#SEEDED} engine.
+     */
+    private Long seed;
+
+    /**
+     * Installs the configured random source in {@link Faker}.
+     */
+    @PostConstruct
+    void install() {
+        Faker.setRandomSource(switch (mode) {
+            case FAST -> RandomSource.fast();
+            case SEEDED -> {
+                if (seed == null) {
+                    throw new ConfigurationException("jwttestkit.random.seed must be set for the SEEDED mode");
+                }
+                yield RandomSource.seeded(seed);
+            }
+            case SECURE -> RandomSource.secure();
+        });
+        log.info("Using {} random source for fake claims", mode);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of randomness for fake claim data.
+ * Implementations must be safe to use from many threads at once.
+ */
+public interface RandomSource {
+
+    /**
+     * Returns a random int between 0 (inclusive) and the bound (exclusive).
+     *
+     * @param bound the upper bound, must be positive
+     * @return the random int
+     */
+    int nextInt(int bound);
+
+    /**
+     * Returns a random long.
+     *
+     * @return the random long
+     */
+    long nextLong();
+
+    /**
+     * Returns a random version 4 UUID built from two random longs.
+     *
+     * @return the random UUID
+     */
+    default UUID nextUuid() {
+        long mostSigBits = (nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long leastSigBits = (nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Creates a source backed by the per-thread {@link ThreadLocalRandom}, never contended between threads.
+     *
+     * @return the fast random source
+     */
+    static RandomSource fast() {
+        return new RandomSource() {
+            @Override
+            public int nextInt(int bound) {
+                return ThreadLocalRandom.current().nextInt(bound);
+            }
+
+            @Override
+            public long nextLong() {
+                return ThreadLocalRandom.current().nextLong();
+            }
+        };
+    }
+
+    /**
+     * Creates a deterministic SplitMix64 source. The same seed always produces the same sequence of values,
+     * so a single-threaded test run can be reproduced; concurrent callers share one sequence.
+     *
+     * @param seed the seed
+     * @return the seeded random source
+     */
+    static RandomSource seeded(long seed) {
+        AtomicLong state = new AtomicLong(seed);
+        return new RandomSource() {
+            @Override
+            public int nextInt(int bound) {
+                if (bound <= 0) {
+                    throw new IllegalArgumentException("bound must be positive");
+                }
+                return (int) (((nextLong() >>> 32) * bound) >>> 32);
+            }
+
+            @Override
+            public long nextLong() {
+                long z = state.addAndGet(0x9e3779b97f4a7c15L);
+                z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+                z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+                return z ^ (z >>> 31);
+            }
+        };
+    }
+
+    /**
+     * Creates a source backed by a shared {@link SecureRandom}, for values that must not be predictable.
+     *
+     * @return the secure random source
+     */
+    static RandomSource secure() {
+        SecureRandom random = new SecureRandom();
+        return new RandomSource() {
+            @Override
+            public int nextInt(int bound) {
+                return random.nextInt(bound);
+            }
+
+            @Override
+            public long nextLong() {
+                return random.nextLong();
+            }
+        };
+    }
+}
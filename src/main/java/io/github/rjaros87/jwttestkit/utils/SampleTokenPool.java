@@ -0,0 +1,186 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.keys.KeyRingChangedEvent;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.model.TokenFormat;
+import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.github.rjaros87.jwttestkit.model.sample.SampleToken;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of pre-signed sample tokens, refilled in the background.
+ * Requests without an explicit algorithm or key take a token from the pool; when the pool is disabled, empty or
+ * the request asks for a specific key, the caller signs the token inline. Once the pool drops below the low
+ * watermark the workers sign tokens until it reaches the high watermark. Tokens older than the maximum age are
+ * discarded, and the pool is emptied whenever the key ring changes so it never serves tokens of a retired key.
+ * Every token carries the key ring generation it was signed in, so tokens that workers still signing with the old
+ * keys add after the pool was emptied are discarded as well.
+ */
+@Log4j2
+@Singleton
+public class SampleTokenPool implements MeterBinder {
+
+    private final TokenSigner tokenSigner;
+    private final TokenPoolConfiguration configuration;
+    private final long maxAgeNanos;
+    private final BlockingQueue<PooledToken> tokens;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+    private ExecutorService workers;
+
+    /**
+     * Constructs a new SampleTokenPool.
+     *
+     * @param tokenSigner the signer used to fill the pool and for inline signing
+     * @param configuration the pool configuration
+     */
+    public SampleTokenPool(TokenSigner tokenSigner, TokenPoolConfiguration configuration) {
+        if (configuration.isEnabled() && (configuration.getSize() < 1 || configuration.getWorkers() < 1
+                || configuration.getLowWatermark() > configuration.getHighWatermark())) {
+            throw new ConfigurationException("jwttestkit.pool requires size and workers of at least 1 and "
+                    + "low-watermark not above high-watermark");
+        }
+        this.tokenSigner = tokenSigner;
+        this.configuration = configuration;
+        this.maxAgeNanos = configuration.getMaxAge().toNanos();
+        this.tokens = new ArrayBlockingQueue<>(Math.max(configuration.getSize(), 1));
+    }
+
+    /**
+     * Starts filling the pool.
+     */
+    @PostConstruct
+    void start() {
+        if (configuration.isEnabled()) {
+            AtomicInteger index = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(configuration.getWorkers(), runnable -> {
+                Thread thread = new Thread(runnable, "token-pool-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            refill();
+        }
+    }
+
+    /**
+     * Stops the background workers.
+     */
+    @PreDestroy
+    void stop() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Takes a sample token from the pool.
+     *
+     * @param options the algorithm and key requested
+     * @return the token response, or null if the pool is disabled, empty or cannot serve the requested key
+     */
+    public TokenResponse poll(SigningOptions options) {
+        if (workers == null || options.alg() != null || options.kid() != null
+            || options.format() != null && options.format() != TokenFormat.JWS) {
+            return null;
+        }
+
+        PooledToken token;
+        long now = System.nanoTime();
+        long current = generation.get();
+        while ((token = tokens.poll()) != null
+                && (token.generation() != current || now - token.createdAt() > maxAgeNanos)) {
+            log.debug("Discarded expired or stale pooled token");
+        }
+        if (tokens.size() < configuration.getLowWatermark()) {
+            refill();
+        }
+        return token != null ? token.response() : null;
+    }
+
+    /**
+     * Gets the number of tokens currently in the pool.
+     *
+     * @return the pool size
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwttestkit.pool.size", this, SampleTokenPool::size)
+            .description("Number of pre-signed sample tokens in the pool")
+            .register(registry);
+        Gauge.builder("jwttestkit.pool.capacity", () -> workers == null ? 0 : configuration.getSize())
+            .description("Maximum number of pre-signed sample tokens, 0 when the pool is disabled")
+            .register(registry);
+    }
+
+    /**
+     * Empties the pool after the signing keys changed.
+     *
+     * @param event the key ring change
+     */
+    @EventListener
+    void onKeyRingChanged(KeyRingChangedEvent event) {
+        if (workers != null) {
+            generation.incrementAndGet();
+            tokens.clear();
+            refill();
+        }
+    }
+
+    private void refill() {
+        int count = configuration.getWorkers();
+        if (activeWorkers.compareAndSet(0, count)) {
+            for (int i = 0; i < count; i++) {
+                workers.execute(this::fill);
+            }
+        }
+    }
+
+    private void fill() {
+        try {
+            while (!Thread.currentThread().isInterrupted() && tokens.size() < configuration.getHighWatermark()) {
+                // read before signing, so a token signed while the keys rotate counts as stale
+                long signedIn = generation.get();
+                TokenResponse response = tokenSigner.sign(new SampleToken(), SigningOptions.defaults());
+                if (!tokens.offer(new PooledToken(response, System.nanoTime(), signedIn))) {
+                    break;
+                }
+            }
+        } catch (JOSEException | RuntimeException e) {
+            log.error("Failed to refill the token pool: {}", e.getMessage());
+        } finally {
+            // a poll that saw the workers still active skipped its refill, so the last worker checks again
+            if (activeWorkers.decrementAndGet() == 0 && !Thread.currentThread().isInterrupted()
+                    && tokens.size() < configuration.getLowWatermark()) {
+                try {
+                    refill();
+                } catch (RejectedExecutionException e) {
+                    log.debug("Token pool is shut down, skipping refill");
+                }
+            }
+        }
+    }
+
+    private record PooledToken(TokenResponse response, long createdAt, long generation) {
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.exceptions.ConfigurationException;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor running token signing off the Netty event loops, so a slow RSA signature never stalls other
+ * connections of the same loop. Both execution models are bounded: once the threads are busy and the queue is
+ * full, tasks are rejected with a {@link RejectedExecutionException} that the controller maps to 503.
+ */
+@Log4j2
+@Singleton
+public class SigningExecutor implements MeterBinder {
+    private static final int MAX_RETRIES_WHEN_SATURATED = 100;
+    private static final Retry RETRY_WHEN_SATURATED = Retry.backoff(MAX_RETRIES_WHEN_SATURATED, Duration.ofMillis(5))
+        .maxBackoff(Duration.ofMillis(100))
+        .filter(RejectedExecutionException.class::isInstance)
+        .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int threads;
+    private final int capacity;
+
+    /**
+     * Constructs a new SigningExecutor.
+     *
+     * @param configuration the executor configuration
+     */
+    public SigningExecutor(SigningExecutorConfiguration configuration) {
+        if (configuration.getThreads() < 1 || configuration.getQueueSize() < 0) {
+            throw new ConfigurationException("jwttestkit.executor requires at least 1 thread and a queue size "
+                    + "of at least 0");
+        }
+
+        this.threads = configuration.getThreads();
+        this.capacity = threads + configuration.getQueueSize();
+        if (configuration.getType() == SigningExecutorConfiguration.Type.VIRTUAL) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("signing-", 0).factory());
+            this.permits = new Semaphore(capacity);
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(configuration.getThreads(), configuration.getThreads(),
+                    0L, TimeUnit.MILLISECONDS,
+                    configuration.getQueueSize() == 0 ? new SynchronousQueue<>()
+                            : new ArrayBlockingQueue<>(configuration.getQueueSize()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "signing-" + threadCount.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.permits = null;
+        }
+        log.info("Signing tokens on {} executor with {} threads and a queue of {}", configuration.getType(),
+                configuration.getThreads(), configuration.getQueueSize());
+    }
+
+    /**
+     * Runs the task on the signing executor.
+     * The returned future completes with the exception thrown by the task itself, not a wrapped one.
+     *
+     * @param task the task to run
+     * @param <T> the result type
+     * @return a future completed with the result of the task
+     * @throws RejectedExecutionException if the executor is saturated
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        if (permits != null && !permits.tryAcquire()) {
+            throw new RejectedExecutionException("Signing executor is saturated");
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    if (permits != null) {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (permits != null) {
+                permits.release();
+            }
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * Runs one task of a stream on the signing executor.
+     * The first task is rejected when the executor is saturated, so the request fails with 503 before anything
+     * was sent. Later tasks wait for capacity for up to about ten seconds instead, then fail the stream with the
+     * {@link RejectedExecutionException} as well.
+     *
+     * @param index the position of the task in the stream
+     * @param task the task to run
+     * @param <T> the result type
+     * @return a mono running the task on subscription
+     */
+    public <T> Mono<T> schedule(long index, Callable<T> task) {
+        Mono<T> scheduled = Mono.defer(() -> Mono.fromFuture(submit(task)));
+        return index == 0 ? scheduled : scheduled.retryWhen(RETRY_WHEN_SATURATED);
+    }
+
+    /**
+     * Gets the number of signing threads, or of concurrently running tasks on virtual threads.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the number of tasks waiting for a signing thread.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        if (executor instanceof ThreadPoolExecutor threadPool) {
+            return threadPool.getQueue().size();
+        }
+        return Math.max(0, capacity - permits.availablePermits() - threads);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwttestkit.executor.queue", this, SigningExecutor::getQueueDepth)
+            .description("Number of tasks waiting for a signing thread")
+            .register(registry);
+        Gauge.builder("jwttestkit.executor.queue.capacity", () -> capacity - threads)
+            .description("Maximum number of tasks waiting for a signing thread")
+            .register(registry);
+    }
+
+    /**
+     * Stops the signing threads.
+     */
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+}
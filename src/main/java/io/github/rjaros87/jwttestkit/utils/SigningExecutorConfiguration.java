@@ -0,0 +1,43 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration of the executor signing tokens off the Netty event loops.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("jwttestkit.executor")
+public class SigningExecutorConfiguration {
+
+    /**
+     * Execution models of the signing executor.
+     */
+    public enum Type {
+        /**
+         * Bounded pool of platform threads with a bounded queue.
+         */
+        PLATFORM,
+        /**
+         * A virtual thread per token, limited to threads plus queue-size concurrent tasks.
+         */
+        VIRTUAL
+    }
+
+    /**
+     * The execution model.
+     */
+    private Type type = Type.PLATFORM;
+
+    /**
+     * Number of signing threads, defaults to the number of cores.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of tasks waiting for a thread before new requests are rejected with 503.
+     */
+    private int queueSize = 1000;
+}
@@ -0,0 +1,159 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import com.nimbusds.jose.JOSEException;
+import io.github.rjaros87.jwttestkit.model.BatchTokenRequest;
+import io.github.rjaros87.jwttestkit.model.Claims;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.serde.ObjectMapper;
+import jakarta.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Mints many tokens from a single claim template, signing them in parallel on the {@link SigningExecutor}.
+ * Batches and streams take their share of the executor like single tokens do, so they are rejected with a
+ * {@link RejectedExecutionException} when it is saturated instead of starving the other token endpoints.
+ */
+@Log4j2
+@Singleton
+public class TokenBatchSigner {
+    private final TokenSigner tokenSigner;
+    private final SigningExecutor signingExecutor;
+    private final ClaimsFactory claimsFactory;
+    private final ObjectMapper objectMapper;
+    private final int maxCount;
+    private final int maxStreamCount;
+
+    public TokenBatchSigner(TokenSigner tokenSigner, SigningExecutor signingExecutor, ClaimsFactory claimsFactory,
+                            ObjectMapper objectMapper,
+                            @Value("${jwttestkit.batch.max-count:10000}") int maxCount,
+                            @Value("${jwttestkit.batch.max-stream-count:10000000}") int maxStreamCount) {
+        this.tokenSigner = tokenSigner;
+        this.signingExecutor = signingExecutor;
+        this.claimsFactory = claimsFactory;
+        this.objectMapper = objectMapper;
+        this.maxCount = maxCount;
+        this.maxStreamCount = maxStreamCount;
+    }
+
+    /**
+     * Signs the number of tokens requested in the batch.
+     * The batch is split into one task per signing thread; if the executor cannot take every task the batch is
+     * rejected and the tasks already running stop early.
+     *
+     * @param request the batch request
+     * @param options the algorithm and key to sign with
+     * @return a future completed with the signed tokens in creation order
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws RejectedExecutionException if the signing executor is saturated
+     */
+    public CompletableFuture<List<TokenResponse>> sign(BatchTokenRequest request, SigningOptions options) {
+        Supplier<Claims> claims = template(request, options, maxCount);
+
+        log.debug("Signing batch of {} {} tokens", request.getCount(), request.getType());
+
+        int count = request.getCount();
+        int chunks = Math.min(count, signingExecutor.getThreads());
+        AtomicBoolean rejected = new AtomicBoolean();
+        List<CompletableFuture<TokenResponse[]>> futures = new ArrayList<>(chunks);
+        try {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int size = (int) ((long) count * (chunk + 1) / chunks - (long) count * chunk / chunks);
+                futures.add(signingExecutor.submit(() -> {
+                    TokenResponse[] tokens = new TokenResponse[size];
+                    for (int i = 0; i < size && !rejected.get(); i++) {
+                        tokens[i] = sign(claims.get(), options);
+                    }
+                    return tokens;
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            rejected.set(true);
+            throw e;
+        }
+
+        CompletableFuture<List<TokenResponse>> result = new CompletableFuture<>();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((done, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+            } else {
+                result.complete(futures.stream().flatMap(future -> Arrays.stream(future.join())).toList());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Streams the tokens requested in the batch as newline-delimited JSON.
+     * Tokens are signed on demand with at most one token per signing thread in flight, so memory stays flat
+     * regardless of the number of tokens. The first token is rejected when the signing executor is saturated;
+     * later tokens wait for capacity for up to about ten seconds before the stream fails with the
+     * {@link RejectedExecutionException} as well.
+     *
+     * @param request the batch request
+     * @param options the algorithm and key to sign with
+     * @return the signed tokens in creation order, one JSON document per line
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    public Flux<byte[]> stream(BatchTokenRequest request, SigningOptions options) {
+        Supplier<Claims> claims = template(request, options, maxStreamCount);
+
+        log.debug("Streaming {} {} tokens", request.getCount(), request.getType());
+
+        return Flux.range(0, request.getCount())
+            .flatMapSequential(i -> signingExecutor.schedule(i, () -> toJsonLine(sign(claims.get(), options))),
+                signingExecutor.getThreads(), 1);
+    }
+
+    /**
+     * Validates the batch request and compiles its claim template.
+     *
+     * @param request the batch request
+     * @param options the algorithm and key to sign with
+     * @param limit the maximum number of tokens allowed in the request
+     * @return a supplier creating the token models of the batch
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    Supplier<Claims> template(BatchTokenRequest request, SigningOptions options, long limit) {
+        if (request.getType() == null) {
+            throw new IllegalArgumentException("Token type is required");
+        }
+        if (request.getCount() == null || request.getCount() < 1 || request.getCount() > limit) {
+            throw new IllegalArgumentException("Token count must be between 1 and " + limit);
+        }
+        Supplier<Claims> claims = claimsFactory.template(request.getType(), request.getClaims());
+        if (claims.get().getSub() == null) {
+            throw new IllegalArgumentException("Token sub cannot be null");
+        }
+        tokenSigner.getSigningKey(options);
+        return claims;
+    }
+
+    private byte[] toJsonLine(TokenResponse tokenResponse) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(tokenResponse);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    TokenResponse sign(Claims claims, SigningOptions options) {
+        try {
+            return tokenSigner.sign(claims, options);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to sign token: " + e.getMessage(), e);
+        }
+    }
+}
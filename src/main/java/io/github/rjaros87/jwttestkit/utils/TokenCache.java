@@ -0,0 +1,131 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.rjaros87.jwttestkit.keys.KeyRingChangedEvent;
+import io.github.rjaros87.jwttestkit.keys.SigningKey;
+import io.github.rjaros87.jwttestkit.model.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Bounded cache of signed tokens, keyed by the signing key and a SHA-256 hash of the payload.
+ * Only claims that are fully determined by the request are cached (see {@link Claims#reproducible()}), so a repeated
+ * request returns the same token without signing it again. Entries are evicted by size (W-TinyLFU) and age, and
+ * the whole cache is dropped whenever the key ring changes.
+ */
+@Singleton
+public class TokenCache implements MeterBinder {
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final Cache<String, String> tokens;
+
+    /**
+     * Constructs a new TokenCache.
+     *
+     * @param configuration the cache configuration
+     */
+    public TokenCache(TokenCacheConfiguration configuration) {
+        if (configuration.isEnabled() && (configuration.getMaxSize() < 1 || configuration.getTtl().isNegative()
+                || configuration.getTtl().isZero())) {
+            throw new ConfigurationException("jwttestkit.cache requires a max-size of at least 1 and a positive ttl");
+        }
+        this.tokens = configuration.isEnabled()
+            ? Caffeine.newBuilder()
+                .maximumSize(configuration.getMaxSize())
+                .expireAfterWrite(configuration.getTtl())
+                .recordStats()
+                .build()
+            : null;
+    }
+
+    /**
+     * Creates a disabled cache, for signers created outside the application context.
+     *
+     * @return a cache that never holds tokens
+     */
+    public static TokenCache disabled() {
+        return new TokenCache(new TokenCacheConfiguration());
+    }
+
+    /**
+     * Checks whether tokens are cached at all.
+     *
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return tokens != null;
+    }
+
+    /**
+     * Computes the cache key of a payload signed with a key.
+     *
+     * @param signingKey the signing key
+     * @param payload the payload bytes
+     * @return the cache key
+     */
+    public String key(SigningKey signingKey, byte[] payload) {
+        MessageDigest digest = sha256();
+        digest.update(signingKey.getAlgorithm().name().getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) 0);
+        digest.update(signingKey.getKeyId().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        return BASE64URL.encodeToString(digest.digest(payload));
+    }
+
+    /**
+     * Gets a cached token.
+     *
+     * @param key the cache key
+     * @return the token, or null if it is not cached
+     */
+    public String get(String key) {
+        return tokens.getIfPresent(key);
+    }
+
+    /**
+     * Caches a signed token. Concurrent misses of the same key may each sign, the last token wins.
+     *
+     * @param key the cache key
+     * @param token the signed token
+     */
+    public void put(String key, String token) {
+        tokens.put(key, token);
+    }
+
+    /**
+     * Drops every cached token after the signing keys changed.
+     *
+     * @param event the key ring change
+     */
+    @EventListener
+    void onKeyRingChanged(KeyRingChangedEvent event) {
+        if (tokens != null) {
+            tokens.invalidateAll();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (tokens != null) {
+            CaffeineCacheMetrics.monitor(registry, tokens, "jwttestkit.tokens");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
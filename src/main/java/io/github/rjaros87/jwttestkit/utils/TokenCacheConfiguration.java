@@ -0,0 +1,31 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the cache of signed tokens with reproducible claims.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("jwttestkit.cache")
+public class TokenCacheConfiguration {
+
+    /**
+     * Whether tokens with reproducible claims are cached.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of cached tokens.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * Time after which a cached token is signed again.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
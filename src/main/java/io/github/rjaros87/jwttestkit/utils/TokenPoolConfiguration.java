@@ -0,0 +1,55 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the pool of pre-signed sample tokens.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("jwttestkit.pool")
+public class TokenPoolConfiguration {
+
+    /**
+     * Whether sample tokens are served from the pool.
+     */
+    private boolean enabled;
+
+    /**
+     * Capacity of the pool.
+     */
+    private int size = 1000;
+
+    /**
+     * Pool size below which the background workers start refilling it.
+     */
+    private int lowWatermark = 250;
+
+    /**
+     * Pool size up to which the background workers refill it, defaults to the capacity.
+     */
+    private Integer highWatermark;
+
+    /**
+     * Maximum age of a pooled token, older tokens are discarded instead of served.
+     */
+    private Duration maxAge = Duration.ofMinutes(5);
+
+    /**
+     * Number of background threads signing tokens for the pool.
+     */
+    private int workers = 1;
+
+    /**
+     * Gets the pool size up to which the workers refill it.
+     *
+     * @return the high watermark, never above the capacity
+     */
+    public int getHighWatermark() {
+        return highWatermark == null ? size : Math.min(highWatermark, size);
+    }
+}
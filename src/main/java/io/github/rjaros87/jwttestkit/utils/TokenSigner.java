@@ -1,24 +1,43 @@
 package io.github.rjaros87.jwttestkit.utils;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.RSASSASigner;
-import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import io.github.rjaros87.jwttestkit.keys.EncryptionAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.EncryptionKey;
+import io.github.rjaros87.jwttestkit.keys.JwksDocument;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.KeySet;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningKey;
 import io.github.rjaros87.jwttestkit.model.Claims;
 import io.github.rjaros87.jwttestkit.model.KeysResponse;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.model.TokenFormat;
 import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.github.rjaros87.jwttestkit.model.TokenType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micronaut.context.annotation.Context;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
-import java.security.PrivateKey;
-import java.security.PublicKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
  * Utility class for signing JWT tokens.
@@ -28,32 +47,51 @@ import java.util.Map;
 @Context
 @Singleton
 public class TokenSigner {
-    private static final int RSA_KEY_SIZE = 2048;
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
 
     private final ObjectMapper objectMapper;
-    private final JWK jwk;
-    private final JWSSigner signer;
-    private final PrivateKey privateKey;
-    private final PublicKey publicKey;
+    private final KeyRing keyRing;
+    private final ClaimsWriter claimsWriter;
+    @Getter(AccessLevel.NONE)
+    private final ClaimsWriter cwtWriter;
+    @Getter(AccessLevel.NONE)
+    private final MeterRegistry meterRegistry;
+    @Getter(AccessLevel.NONE)
+    private final TokenCache tokenCache;
+    @Getter(AccessLevel.NONE)
+    private final Map<MeterKey, SigningMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new TokenSigner that does not record metrics.
+     *
+     * @param objectMapper the ObjectMapper to use for converting objects to JSON
+     * @param keyRing the key ring holding the signing keys
+     */
+    public TokenSigner(ObjectMapper objectMapper, KeyRing keyRing) {
+        this(objectMapper, keyRing, new CompositeMeterRegistry(), TokenCache.disabled());
+    }
 
     /**
      * Constructs a new TokenSigner with the specified ObjectMapper.
      *
      * @param objectMapper the ObjectMapper to use for converting objects to JSON
-     * @throws JOSEException if an error occurs while generating the RSA keys
+     * @param keyRing the key ring holding the signing keys
+     * @param meterRegistry the registry of the signing timers and issued token counters
+     * @param tokenCache the cache of tokens with reproducible claims
      */
-    public TokenSigner(ObjectMapper objectMapper) throws JOSEException {
+    @Inject
+    public TokenSigner(ObjectMapper objectMapper, KeyRing keyRing, MeterRegistry meterRegistry,
+                       TokenCache tokenCache) {
         this.objectMapper = objectMapper;
-        jwk = new RSAKeyGenerator(RSA_KEY_SIZE)
-                .keyID(JWTUtils.generateKeyId())
-                .generate();
-        privateKey = jwk.toRSAKey().toPrivateKey();
-        publicKey = jwk.toRSAKey().toRSAPublicKey();
-        signer = new RSASSASigner(privateKey);
+        this.keyRing = keyRing;
+        this.claimsWriter = new ClaimsWriter(objectMapper);
+        this.cwtWriter = ClaimsWriter.cwt(objectMapper);
+        this.meterRegistry = meterRegistry;
+        this.tokenCache = tokenCache;
     }
 
     /**
-     * Signs the specified token and returns a TokenResponse containing the signed JWT.
+     * Signs the specified token with the current key of the default algorithm.
      *
      * @param token the token to sign
      * @return a TokenResponse containing the signed JWT
@@ -61,25 +99,64 @@ public class TokenSigner {
      * @throws IllegalArgumentException if the token's sub claim is null
      */
     public TokenResponse sign(@NotNull Claims token) throws JOSEException, IllegalArgumentException {
+        return sign(token, SigningOptions.defaults());
+    }
+
+    /**
+     * Signs the specified token and returns a TokenResponse containing the signed JWT.
+     * A CWT is returned base64url encoded; CWTs are not cached. A JWE wraps the signed JWT, which may come from the
+     * cache, and is encrypted for every request.
+     *
+     * @param token the token to sign
+     * @param options the algorithm, key and format to sign with
+     * @return a TokenResponse containing the signed JWT, CWT or JWE
+     * @throws JOSEException if an error occurs while signing the token
+     * @throws IllegalArgumentException if the token's sub claim is null or the requested key is not available
+     */
+    public TokenResponse sign(@NotNull Claims token, @NotNull SigningOptions options)
+            throws JOSEException, IllegalArgumentException {
         if (token.getSub() == null) {
             throw new IllegalArgumentException("Token sub cannot be null");
         }
 
-        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256)
-            .keyID(jwk.getKeyID())
-            .type(JOSEObjectType.JWT)
-            .build();
+        SigningKey signingKey = getSigningKey(options);
+        TokenFormat format = options.format() == null ? TokenFormat.JWS : options.format();
+        EncryptionKey encryptionKey = format == TokenFormat.JWE ? getEncryptionKey(options) : null;
+        long start = System.nanoTime();
 
-        Map<String, Object> claims = toMap(token);
+        byte[] claims = format == TokenFormat.CWT ? write(cwtWriter, token) : write(claimsWriter, token);
 
-        log.debug("Claims to sign: {}", claims);
+        if (log.isDebugEnabled()) {
+            log.debug("Claims to sign: {}", format == TokenFormat.CWT
+                ? HexFormat.of().formatHex(claims) : new String(claims, StandardCharsets.UTF_8));
+        }
 
-        Payload payload = new Payload(claims);
-        JWSObject jwsObject = new JWSObject(header, payload);
+        SigningMeters signingMeters = meters.computeIfAbsent(
+            new MeterKey(TokenType.of(token), signingKey.getAlgorithm(), format), this::createMeters);
+        String cacheKey = format != TokenFormat.CWT && tokenCache.isEnabled() && token.reproducible()
+            ? tokenCache.key(signingKey, claims) : null;
+        String accessToken = cacheKey == null ? null : tokenCache.get(cacheKey);
+        if (accessToken != null) {
+            if (encryptionKey != null) {
+                accessToken = encryptionKey.encrypt(accessToken);
+            }
+            signingMeters.issued().increment();
+            log.debug("Served cached accessToken: {}", accessToken);
+            return new TokenResponse(accessToken, token.getExp());
+        }
 
-        jwsObject.sign(signer);
+        accessToken = format == TokenFormat.CWT
+            ? BASE64URL.encodeToString(signingKey.signCwt(claims))
+            : signingKey.sign(JOSEObjectType.JWT, claims);
+        if (cacheKey != null) {
+            tokenCache.put(cacheKey, accessToken);
+        }
+        if (encryptionKey != null) {
+            accessToken = encryptionKey.encrypt(accessToken);
+        }
 
-        String accessToken = jwsObject.serialize();
+        signingMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        signingMeters.issued().increment();
 
         log.debug("Generated accessToken: {}", accessToken);
 
@@ -87,32 +164,140 @@ public class TokenSigner {
     }
 
     /**
-     * Retrieves the JSON Web Key Set (JWKS) containing the public key.
+     * Selects the signing key for the specified options.
+     * A requested kid must belong to an active key, otherwise the newest key of the algorithm is used.
+     *
+     * @param options the requested algorithm and key id
+     * @return the signing key
+     * @throws IllegalArgumentException if the algorithm is not enabled or the key is not active
+     */
+    public SigningKey getSigningKey(@NotNull SigningOptions options) {
+        KeySet keySet = keyRing.current();
+
+        if (options.kid() != null) {
+            SigningKey signingKey = keySet.getActiveKey(options.kid());
+            if (signingKey == null) {
+                throw new IllegalArgumentException("Key " + options.kid() + " is not an active signing key");
+            }
+            if (options.alg() != null && options.alg() != signingKey.getAlgorithm()) {
+                throw new IllegalArgumentException("Key " + options.kid() + " does not sign " + options.alg());
+            }
+            return signingKey;
+        }
+
+        SigningAlgorithm algorithm = options.alg() == null ? keyRing.getDefaultAlgorithm() : options.alg();
+        SigningKey signingKey = keySet.getCurrentKey(algorithm);
+        if (signingKey == null) {
+            throw new IllegalArgumentException("Signing algorithm " + algorithm + " is not enabled");
+        }
+        return signingKey;
+    }
+
+    /**
+     * Selects the key-encryption key for the specified options.
+     *
+     * @param options the requested key management algorithm
+     * @return the key-encryption key
+     * @throws IllegalArgumentException if the algorithm is not enabled
+     */
+    public EncryptionKey getEncryptionKey(@NotNull SigningOptions options) {
+        EncryptionAlgorithm algorithm = options.encryption() == null
+            ? EncryptionAlgorithm.RSA_OAEP_256 : options.encryption();
+        EncryptionKey encryptionKey = keyRing.current().getEncryptionKey(algorithm);
+        if (encryptionKey == null) {
+            throw new IllegalArgumentException("Encryption algorithm " + algorithm + " is not enabled");
+        }
+        return encryptionKey;
+    }
+
+    /**
+     * Retrieves the JSON Web Key Set (JWKS) containing the public keys of all asymmetric keys.
      *
      * @return a Map containing the JWKS in JSON format
      */
     public Map<String, Object> getJwks() {
-        JWKSet jwkSet = new JWKSet(jwk.toPublicJWK());
-        return jwkSet.toJSONObject();
+        return new JWKSet(keyRing.current().getPublicKeys()).toJSONObject();
+    }
+
+    /**
+     * Retrieves the serialized JWKS of the current key set.
+     *
+     * @return the JWKS document with its ETag
+     */
+    public JwksDocument getJwksDocument() {
+        return keyRing.current().getJwksDocument();
     }
 
     /**
-     * Retrieves the RSA key pair in PEM format.
+     * Retrieves the active key pairs in PEM format.
+     * The top level keys belong to the current key of the default algorithm; symmetric keys are not exported.
+     * Key-encryption keys follow the signing keys, so consumers can decrypt JWEs.
      *
-     * @return a KeysResponse containing both private and public keys in PEM format
+     * @return a KeysResponse containing private and public keys in PEM format
      */
     public KeysResponse getKeys() {
-        return new KeysResponse(JWTUtils.getPrivateKeyPem(privateKey),
-            JWTUtils.getPublicKeyPem(publicKey));
+        KeySet keySet = keyRing.current();
+        List<KeysResponse.Key> keys = Stream.concat(
+            keySet.getActiveKeys().values().stream()
+                .flatMap(List::stream)
+                .filter(signingKey -> signingKey.getAlgorithm().isAsymmetric())
+                .map(signingKey -> new KeysResponse.Key(signingKey.getKeyId(), signingKey.getAlgorithm().name(),
+                    JWTUtils.getPrivateKeyPem(signingKey.getPrivateKey()),
+                    JWTUtils.getPublicKeyPem(signingKey.getPublicKey()))),
+            keySet.getEncryptionKeys().stream()
+                .map(encryptionKey -> new KeysResponse.Key(encryptionKey.getKeyId(),
+                    encryptionKey.getAlgorithm().getJweAlgorithm().getName(),
+                    JWTUtils.getPrivateKeyPem(encryptionKey.getPrivateKey()),
+                    JWTUtils.getPublicKeyPem(encryptionKey.getPublicKey()))))
+            .toList();
+
+        SigningKey defaultKey = getSigningKey(SigningOptions.defaults());
+        if (!defaultKey.getAlgorithm().isAsymmetric()) {
+            return new KeysResponse(null, null, keys);
+        }
+        return new KeysResponse(JWTUtils.getPrivateKeyPem(defaultKey.getPrivateKey()),
+            JWTUtils.getPublicKeyPem(defaultKey.getPublicKey()), keys);
     }
 
     /**
-     * Converts the specified token to a map of claims.
+     * Writes the claims of the specified token as JSON or CBOR.
      *
+     * @param writer the writer of the token format
      * @param token the token to convert
-     * @return a map of claims
+     * @return the payload bytes
+     * @throws JOSEException if a claim cannot be serialized
      */
-    private Map<String, Object> toMap(Claims token) {
-        return objectMapper.convertValue(token.objectToSign(), new TypeReference<Map<String, Object>>() {});
+    private static byte[] write(ClaimsWriter writer, Claims token) throws JOSEException {
+        try {
+            return writer.write(token);
+        } catch (IOException e) {
+            throw new JOSEException("Unable to serialize claims: " + e.getMessage(), e);
+        }
+    }
+
+    private SigningMeters createMeters(MeterKey key) {
+        String provider = key.provider() == null ? "unknown" : key.provider().getValue();
+        String algorithm = key.algorithm().name();
+        String format = key.format().name().toLowerCase(Locale.ROOT);
+        return new SigningMeters(
+            Timer.builder("jwttestkit.sign")
+                .description("Time spent serializing and signing a token")
+                .tag("provider", provider)
+                .tag("alg", algorithm)
+                .tag("format", format)
+                .publishPercentileHistogram()
+                .register(meterRegistry),
+            Counter.builder("jwttestkit.tokens.issued")
+                .description("Number of issued tokens, including cached tokens and tokens signed ahead of time by the pool")
+                .tag("provider", provider)
+                .tag("alg", algorithm)
+                .tag("format", format)
+                .register(meterRegistry));
+    }
+
+    private record MeterKey(TokenType provider, SigningAlgorithm algorithm, TokenFormat format) {
+    }
+
+    private record SigningMeters(Timer timer, Counter issued) {
     }
 }
@@ -0,0 +1,227 @@
+package io.github.rjaros87.jwttestkit.utils;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.github.rjaros87.jwttestkit.keys.JcaEdDSAVerifier;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.KeyRingChangedEvent;
+import io.github.rjaros87.jwttestkit.keys.KeySet;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningKey;
+import io.github.rjaros87.jwttestkit.model.VerificationResult;
+import io.github.rjaros87.jwttestkit.model.VerifyOptions;
+import io.github.rjaros87.jwttestkit.utils.LineSplitter.Line;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.serde.ObjectMapper;
+import jakarta.inject.Singleton;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies tokens against the keys of the key ring, including retired keys still in their grace period.
+ * Verifiers are created once per key id and dropped when their key leaves the key ring. Bulk verification runs
+ * on the {@link SigningExecutor}, sharing its capacity with the token endpoints.
+ */
+@Log4j2
+@Singleton
+public class TokenVerifier {
+    private final KeyRing keyRing;
+    private final SigningExecutor signingExecutor;
+    private final ObjectMapper objectMapper;
+    private final long clockSkewMillis;
+    private final int maxTokenLength;
+    private final Map<String, JWSVerifier> verifiers = new ConcurrentHashMap<>();
+
+    public TokenVerifier(KeyRing keyRing, SigningExecutor signingExecutor, ObjectMapper objectMapper,
+                         @Value("${jwttestkit.verify.clock-skew:60s}") Duration clockSkew,
+                         @Value("${jwttestkit.decode.max-token-length:65536}") int maxTokenLength) {
+        this.keyRing = keyRing;
+        this.signingExecutor = signingExecutor;
+        this.objectMapper = objectMapper;
+        this.clockSkewMillis = clockSkew.toMillis();
+        this.maxTokenLength = maxTokenLength;
+    }
+
+    /**
+     * Verifies the signature, the {@code exp}, {@code nbf} and {@code iat} claims and, if requested, the issuer
+     * and audience of a token.
+     *
+     * @param token the token to verify
+     * @param options the expected issuer and audience
+     * @return the verification result
+     */
+    public VerificationResult verify(String token, VerifyOptions options) {
+        SignedJWT jwt;
+        try {
+            jwt = SignedJWT.parse(token.strip());
+        } catch (ParseException e) {
+            return VerificationResult.invalid(null, null, "Malformed token: " + e.getMessage());
+        }
+
+        JWSHeader header = jwt.getHeader();
+        String kid = header.getKeyID();
+        String alg = header.getAlgorithm().getName();
+
+        SigningKey signingKey = findKey(keyRing.current(), header);
+        if (signingKey == null) {
+            return VerificationResult.invalid(kid, alg, "Unknown signing key");
+        }
+        if (!signs(signingKey, header)) {
+            return VerificationResult.invalid(kid, alg, "Key " + signingKey.getKeyId() + " does not sign " + alg);
+        }
+
+        try {
+            if (!jwt.verify(verifier(signingKey))) {
+                return VerificationResult.invalid(kid, alg, "Invalid signature");
+            }
+            String error = validateClaims(jwt.getJWTClaimsSet(), options);
+            return error == null ? VerificationResult.valid(kid, alg) : VerificationResult.invalid(kid, alg, error);
+        } catch (JOSEException | ParseException e) {
+            return VerificationResult.invalid(kid, alg, e.getMessage());
+        }
+    }
+
+    /**
+     * Verifies only the signature of a parsed token, without any network I/O.
+     *
+     * @param jwt the signed token
+     * @return true if a key of the key ring, active or retired, produced the signature
+     * @throws JOSEException if the signature cannot be verified
+     */
+    public boolean verifySignature(SignedJWT jwt) throws JOSEException {
+        SigningKey signingKey = findKey(keyRing.current(), jwt.getHeader());
+        return signingKey != null && signs(signingKey, jwt.getHeader()) && jwt.verify(verifier(signingKey));
+    }
+
+    /**
+     * Verifies a newline-separated stream of tokens in parallel. Blank lines are skipped.
+     *
+     * @param body the request body chunks
+     * @param options the expected issuer and audience
+     * @return one JSON document per token, in input order
+     */
+    public Flux<byte[]> verifyLines(Flux<byte[]> body, VerifyOptions options) {
+        return verify(LineSplitter.lines(body, maxTokenLength), options);
+    }
+
+    /**
+     * Verifies a stream of tokens in parallel, e.g. the elements of a JSON array.
+     *
+     * @param tokens the tokens
+     * @param options the expected issuer and audience
+     * @return one JSON document per token, in input order
+     */
+    public Flux<byte[]> verifyTokens(Flux<String> tokens, VerifyOptions options) {
+        return verify(LineSplitter.tokens(tokens, maxTokenLength), options);
+    }
+
+    /**
+     * Drops the verifiers of keys that left the key ring.
+     *
+     * @param event the key ring change
+     */
+    @EventListener
+    void onKeyRingChanged(KeyRingChangedEvent event) {
+        verifiers.keySet().removeIf(kid -> event.getKeySet().getKey(kid) == null);
+    }
+
+    private Flux<byte[]> verify(Flux<Line> lines, VerifyOptions options) {
+        return lines.index()
+            .flatMapSequential(line -> signingExecutor.schedule(line.getT1(), () -> {
+                Line value = line.getT2();
+                VerificationResult result = value.error() != null
+                    ? VerificationResult.invalid(null, null, value.error())
+                    : verify(value.token(), options);
+                return toJsonLine(result.withIndex(line.getT1()));
+            }), signingExecutor.getThreads(), 1);
+    }
+
+    private SigningKey findKey(KeySet keySet, JWSHeader header) {
+        if (header.getKeyID() != null) {
+            return keySet.getKey(header.getKeyID());
+        }
+        try {
+            return keySet.getCurrentKey(SigningAlgorithm.of(header.getAlgorithm()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean signs(SigningKey signingKey, JWSHeader header) {
+        return signingKey.getAlgorithm().getJwsAlgorithm().equals(header.getAlgorithm());
+    }
+
+    private String validateClaims(JWTClaimsSet claims, VerifyOptions options) {
+        long now = System.currentTimeMillis();
+        Date exp = claims.getExpirationTime();
+        if (exp != null && now - clockSkewMillis >= exp.getTime()) {
+            return "Token expired";
+        }
+        Date nbf = claims.getNotBeforeTime();
+        if (nbf != null && now + clockSkewMillis < nbf.getTime()) {
+            return "Token not yet valid";
+        }
+        Date iat = claims.getIssueTime();
+        if (iat != null && now + clockSkewMillis < iat.getTime()) {
+            return "Token issued in the future";
+        }
+        if (options.iss() != null && !options.iss().equals(claims.getIssuer())) {
+            return "Issuer mismatch";
+        }
+        List<String> audience = claims.getAudience();
+        if (options.aud() != null && (audience == null || !audience.contains(options.aud()))) {
+            return "Audience mismatch";
+        }
+        return null;
+    }
+
+    private JWSVerifier verifier(SigningKey signingKey) throws JOSEException {
+        JWSVerifier verifier = verifiers.get(signingKey.getKeyId());
+        if (verifier == null) {
+            verifier = createVerifier(signingKey);
+            verifiers.putIfAbsent(signingKey.getKeyId(), verifier);
+        }
+        return verifier;
+    }
+
+    private static JWSVerifier createVerifier(SigningKey signingKey) throws JOSEException {
+        JWK jwk = signingKey.getJwk();
+        if (jwk instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey.toRSAPublicKey());
+        }
+        if (jwk instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey.toECPublicKey());
+        }
+        if (jwk instanceof OctetSequenceKey octetSequenceKey) {
+            return new MACVerifier(octetSequenceKey);
+        }
+        return new JcaEdDSAVerifier(signingKey.getPublicKey());
+    }
+
+    private byte[] toJsonLine(VerificationResult result) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(result);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.rjaros87;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.github.rjaros87.jwttestkit.model.Claims;
+import io.github.rjaros87.jwttestkit.model.awscognito.AWSCognitoToken;
+import io.github.rjaros87.jwttestkit.model.custom.CustomToken;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.model.sample.SampleToken;
+import io.github.rjaros87.jwttestkit.utils.ClaimsWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+class ClaimsWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ClaimsWriter claimsWriter = new ClaimsWriter(objectMapper);
+
+    @Test
+    void testWrittenClaimsMatchObjectMapper() throws IOException {
+        CustomToken custom = new CustomToken();
+        custom.addCustomClaim("sub", "custom-sub");
+        custom.addCustomClaim("roles", List.of("admin", "user"));
+        custom.addCustomClaim("nested", Map.of("enabled", true));
+
+        List<Claims> tokens = List.of(new SampleToken(),
+                new OktaToken(null, null, null, null, null, null, null, null, null),
+                new AWSCognitoToken("client", "scope"), custom);
+        for (Claims token : tokens) {
+            Map<String, Object> expected = objectMapper.convertValue(token.objectToSign(), new TypeReference<>() {});
+            Map<String, Object> written = objectMapper.readValue(claimsWriter.write(token), new TypeReference<>() {});
+            Assertions.assertEquals(expected, written, token.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void testAwsCognitoClaimNamesFollowJsonProperty() throws IOException {
+        Map<String, Object> written = objectMapper.readValue(claimsWriter.write(new AWSCognitoToken("c", "s")),
+                new TypeReference<>() {});
+        Assertions.assertTrue(written.containsKey("cognito:groups"));
+        Assertions.assertEquals("c", written.get("client_id"));
+    }
+
+    @Test
+    void testCwtClaimsUseRegisteredKeys() throws IOException {
+        CustomToken custom = new CustomToken();
+        custom.addCustomClaim("sub", "device-1");
+        custom.addCustomClaim("jti", "token-1");
+        custom.addCustomClaim("exp", 1700000000L);
+        custom.addCustomClaim("groups", List.of("Devices"));
+
+        Map<String, Object> written = new CBORMapper().readValue(ClaimsWriter.cwt(objectMapper).write(custom),
+                new TypeReference<>() {});
+        Assertions.assertEquals("device-1", written.get("2"));
+        Assertions.assertArrayEquals("token-1".getBytes(StandardCharsets.UTF_8), (byte[]) written.get("7"));
+        Assertions.assertEquals(1700000000L, ((Number) written.get("4")).longValue());
+        Assertions.assertEquals(List.of("Devices"), written.get("groups"));
+        Assertions.assertFalse(written.containsKey("sub"));
+    }
+}
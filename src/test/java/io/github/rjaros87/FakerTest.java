@@ -0,0 +1,38 @@
+package io.github.rjaros87;
+
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.utils.Faker;
+import io.github.rjaros87.jwttestkit.utils.RandomSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+class FakerTest {
+
+    @AfterEach
+    void resetRandomSource() {
+        Faker.setRandomSource(RandomSource.fast());
+    }
+
+    @Test
+    void testSeededSourceReproducesClaims() {
+        Faker.setRandomSource(RandomSource.seeded(42));
+        OktaToken first = new OktaToken(null, null, null, null, null, null, null, null, null);
+
+        Faker.setRandomSource(RandomSource.seeded(42));
+        OktaToken second = new OktaToken(null, null, null, null, null, null, null, null, null);
+
+        Assertions.assertEquals(first.getSub(), second.getSub());
+        Assertions.assertEquals(first.getEmail(), second.getEmail());
+        Assertions.assertEquals(first.getIss(), second.getIss());
+    }
+
+    @Test
+    void testRandomUuidIsVersion4() {
+        UUID uuid = UUID.fromString(Faker.randomUuid());
+        Assertions.assertEquals(4, uuid.version());
+        Assertions.assertEquals(2, uuid.variant());
+    }
+}
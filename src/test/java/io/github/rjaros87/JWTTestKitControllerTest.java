@@ -1,8 +1,22 @@
 package io.github.rjaros87;
 
 
+import com.nimbusds.jose.EncryptionMethod;
 import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+import io.github.rjaros87.jwttestkit.keys.CoseSign1;
 import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
@@ -15,7 +29,9 @@ import jakarta.inject.Inject;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.text.ParseException;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 
 @MicronautTest
@@ -28,6 +44,9 @@ class JWTTestKitControllerTest {
     @Client("/")
     HttpClient client;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     @Test
     void testApplicationIsRunning() {
         Assertions.assertTrue(application.isRunning());
@@ -54,6 +73,23 @@ class JWTTestKitControllerTest {
         Assertions.assertTrue(jwks.containsKey("keys"));
     }
 
+    @Test
+    void testJwksEndpoint_conditionalRequest() {
+        HttpResponse<Map> response = client.toBlocking().exchange("/JWTTestKit/jwks", Map.class);
+        String etag = response.header(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+        Assertions.assertTrue(response.header(HttpHeaders.CACHE_CONTROL).contains("max-age="));
+
+        HttpResponse<byte[]> notModified = client.toBlocking().exchange(HttpRequest.GET("/JWTTestKit/jwks")
+                .header(HttpHeaders.IF_NONE_MATCH, etag), byte[].class);
+        Assertions.assertEquals(304, notModified.code());
+        Assertions.assertEquals(etag, notModified.header(HttpHeaders.ETAG));
+
+        HttpResponse<Map> modified = client.toBlocking().exchange(HttpRequest.GET("/JWTTestKit/jwks")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""), Map.class);
+        Assertions.assertEquals(200, modified.code());
+    }
+
     @Test
     void testDecodeTokenEndpoint() {
         String unsignedToken = "eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyMTIzIn0.";
@@ -92,6 +128,100 @@ class JWTTestKitControllerTest {
         }
     }
 
+    @Test
+    void testDecodeTokenEndpoint_fastMode() {
+        String unsignedToken = "eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyMTIzIn0.";
+
+        HttpRequest<String> request = HttpRequest.POST("/JWTTestKit/decode?mode=FAST", unsignedToken)
+                .contentType(MediaType.TEXT_PLAIN);
+
+        HttpResponse<String> response = client.toBlocking().exchange(request, String.class);
+
+        Assertions.assertEquals(200, response.code());
+        Assertions.assertEquals("{\"header\":{\"alg\":\"none\"},\"payload\":{\"sub\":\"user123\"}}", response.body());
+    }
+
+    @Test
+    void testDecodeTokenEndpoint_fastModeInvalidToken() {
+        for (String invalidToken : List.of("invalid.token.format", "eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyMTIzIn0",
+                "eyJhbGciOiJub25lIn0.WzFd.")) {
+            HttpRequest<String> request = HttpRequest.POST("/JWTTestKit/decode?mode=FAST", invalidToken)
+                    .contentType(MediaType.TEXT_PLAIN);
+
+            HttpClientResponseException e = Assertions.assertThrows(HttpClientResponseException.class,
+                    () -> client.toBlocking().exchange(request, String.class), invalidToken);
+            Assertions.assertEquals(400, e.getStatus().getCode());
+        }
+    }
+
+    @Test
+    void testBulkDecodeEndpoint() {
+        String body = "eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyMTIzIn0.\r\n\nnot-a-token\neyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyNDU2In0.";
+        for (String mode : List.of("FULL", "FAST")) {
+            HttpRequest<String> request = HttpRequest.POST("/JWTTestKit/decode/bulk?mode=" + mode, body)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .accept("application/x-ndjson");
+
+            String[] lines = client.toBlocking().retrieve(request).split("\n");
+
+            Assertions.assertEquals(3, lines.length, mode);
+            Assertions.assertTrue(lines[0].contains("\"sub\":\"user123\""), lines[0]);
+            Assertions.assertTrue(lines[1].startsWith("{\"index\":1,\"error\":"), lines[1]);
+            Assertions.assertTrue(lines[2].contains("\"sub\":\"user456\""), lines[2]);
+        }
+    }
+
+    @Test
+    void testBulkDecodeEndpoint_jsonArray() {
+        HttpRequest<List<String>> request = HttpRequest.POST("/JWTTestKit/decode/bulk",
+                        List.of("eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyMTIzIn0.", "invalid"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/x-ndjson");
+
+        String[] lines = client.toBlocking().retrieve(request).split("\n");
+
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"index\":0,\"header\":"), lines[0]);
+        Assertions.assertTrue(lines[1].startsWith("{\"index\":1,\"error\":"), lines[1]);
+    }
+
+    @Test
+    void testVerifyEndpoint() {
+        TokenResponse token = client.toBlocking().retrieve(HttpRequest.POST("/JWTTestKit/token/okta?alg=ES256",
+                Map.of("iss", "https://issuer.example.com")), TokenResponse.class);
+
+        Map<String, Object> valid = client.toBlocking().retrieve(HttpRequest.POST(
+                "/JWTTestKit/verify?iss=https://issuer.example.com", token.getAccessToken())
+                .contentType(MediaType.TEXT_PLAIN), Map.class);
+        Assertions.assertEquals(true, valid.get("valid"), String.valueOf(valid.get("error")));
+        Assertions.assertEquals("ES256", valid.get("alg"));
+
+        Map<String, Object> wrongIssuer = client.toBlocking().retrieve(HttpRequest.POST(
+                "/JWTTestKit/verify?iss=https://other.example.com", token.getAccessToken())
+                .contentType(MediaType.TEXT_PLAIN), Map.class);
+        Assertions.assertEquals(false, wrongIssuer.get("valid"));
+        Assertions.assertEquals("Issuer mismatch", wrongIssuer.get("error"));
+
+        String tampered = token.getAccessToken().substring(0, token.getAccessToken().lastIndexOf('.') + 1) + "AAAA";
+        String[] lines = client.toBlocking().retrieve(HttpRequest.POST("/JWTTestKit/verify/bulk",
+                        token.getAccessToken() + "\n" + tampered)
+                .contentType(MediaType.TEXT_PLAIN)
+                .accept("application/x-ndjson")).split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"valid\":true"), lines[0]);
+        Assertions.assertTrue(lines[1].contains("\"valid\":false"), lines[1]);
+    }
+
+    @Test
+    void testVerifyEndpoint_everyAlgorithm() {
+        for (String alg : List.of("RS256", "PS256", "ES384", "EdDSA", "HS256")) {
+            TokenResponse token = client.toBlocking().retrieve("/JWTTestKit/token?alg=" + alg, TokenResponse.class);
+            Map<String, Object> result = client.toBlocking().retrieve(HttpRequest.POST("/JWTTestKit/verify",
+                    token.getAccessToken()).contentType(MediaType.TEXT_PLAIN), Map.class);
+            Assertions.assertEquals(true, result.get("valid"), alg + ": " + result.get("error"));
+        }
+    }
+
     @Test
     void testSampleTokenEndpoint() {
         HttpResponse<Map> response = client.toBlocking().exchange("/JWTTestKit/token", Map.class);
@@ -200,4 +330,235 @@ class JWTTestKitControllerTest {
         Assertions.assertNotNull(token);
         Assertions.assertNotNull(token.get("access_token"));
     }
+
+    @Test
+    void testSampleTokenEndpoint_withAlgorithm() throws ParseException {
+        JWKSet jwks = JWKSet.parse(client.toBlocking().retrieve("/JWTTestKit/jwks", Map.class));
+
+        for (String alg : List.of("RS256", "RS384", "RS512", "PS256", "ES256", "ES384", "EdDSA", "HS256")) {
+            Map<String, Object> token = client.toBlocking().retrieve("/JWTTestKit/token?alg=" + alg, Map.class);
+            SignedJWT jwt = SignedJWT.parse(token.get("access_token").toString());
+
+            Assertions.assertEquals(alg, jwt.getHeader().getAlgorithm().getName());
+            if ("HS256".equals(alg)) {
+                Assertions.assertNull(jwks.getKeyByKeyId(jwt.getHeader().getKeyID()), "HMAC keys must not be published");
+            } else {
+                Assertions.assertNotNull(jwks.getKeyByKeyId(jwt.getHeader().getKeyID()), "Missing JWK for " + alg);
+            }
+        }
+    }
+
+    @Test
+    void testCwtFormat() throws ParseException, JOSEException {
+        TokenResponse token = client.toBlocking().retrieve(HttpRequest.POST(
+                "/JWTTestKit/token/okta?alg=ES256&format=CWT",
+                Map.of("sub", "device-1", "iss", "https://issuer.example.com", "groups", List.of("Devices"))),
+                TokenResponse.class);
+
+        Map<String, Map<String, Object>> decoded = client.toBlocking().retrieve(HttpRequest.POST(
+                "/JWTTestKit/decode/cwt", token.getAccessToken()).contentType(MediaType.TEXT_PLAIN), Map.class);
+        Assertions.assertEquals("ES256", decoded.get("header").get("alg"));
+        Assertions.assertEquals("device-1", decoded.get("payload").get("sub"));
+        Assertions.assertEquals("https://issuer.example.com", decoded.get("payload").get("iss"));
+        Assertions.assertEquals(List.of("Devices"), decoded.get("payload").get("groups"));
+        Assertions.assertEquals(token.getExpiresIn(), ((Number) decoded.get("payload").get("exp")).longValue());
+
+        byte[] cwt = Base64.getUrlDecoder().decode(token.getAccessToken());
+        Map<String, Map<String, Object>> binary = client.toBlocking().retrieve(HttpRequest.POST(
+                "/JWTTestKit/decode/cwt", cwt).contentType("application/cbor"), Map.class);
+        Assertions.assertEquals(decoded, binary);
+
+        CoseSign1 cose = CoseSign1.parse(cwt);
+        JWKSet jwks = JWKSet.parse(client.toBlocking().retrieve("/JWTTestKit/jwks", Map.class));
+        ECKey key = jwks.getKeyByKeyId(decoded.get("header").get("kid").toString()).toECKey();
+        Assertions.assertTrue(new ECDSAVerifier(key).verify(new JWSHeader(JWSAlgorithm.ES256), cose.toBeSigned(),
+                Base64URL.encode(cose.signature())));
+
+        HttpClientResponseException hmac = Assertions.assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange("/JWTTestKit/token?alg=HS256&format=CWT", Map.class));
+        Assertions.assertEquals(400, hmac.getStatus().getCode());
+        HttpClientResponseException invalid = Assertions.assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.POST("/JWTTestKit/decode/cwt", "oA")
+                        .contentType(MediaType.TEXT_PLAIN), Map.class));
+        Assertions.assertEquals(400, invalid.getStatus().getCode());
+    }
+
+    @Test
+    void testJweFormat() throws ParseException {
+        JWKSet jwks = JWKSet.parse(client.toBlocking().retrieve("/JWTTestKit/jwks", Map.class));
+
+        for (String encryption : List.of("RSA_OAEP_256", "ECDH_ES_A256KW")) {
+            TokenResponse token = client.toBlocking().retrieve(HttpRequest.POST(
+                    "/JWTTestKit/token/okta?alg=ES256&format=JWE&encryption=" + encryption,
+                    Map.of("sub", "user123")), TokenResponse.class);
+
+            JWEObject jwe = JWEObject.parse(token.getAccessToken());
+            Assertions.assertEquals(EncryptionMethod.A256GCM, jwe.getHeader().getEncryptionMethod());
+            Assertions.assertEquals("JWT", jwe.getHeader().getContentType());
+            Assertions.assertEquals(KeyUse.ENCRYPTION, jwks.getKeyByKeyId(jwe.getHeader().getKeyID()).getKeyUse());
+
+            for (String mode : List.of("FULL", "FAST")) {
+                Map<String, Map<String, Object>> decoded = client.toBlocking().retrieve(HttpRequest.POST(
+                        "/JWTTestKit/decode?mode=" + mode, token.getAccessToken())
+                        .contentType(MediaType.TEXT_PLAIN), Map.class);
+                Assertions.assertEquals("ES256", decoded.get("header").get("alg"), encryption + " " + mode);
+                Assertions.assertEquals("user123", decoded.get("payload").get("sub"), encryption + " " + mode);
+            }
+        }
+
+        HttpClientResponseException tampered = Assertions.assertThrows(HttpClientResponseException.class,
+                () -> {
+                    String jwe = client.toBlocking().retrieve("/JWTTestKit/token?format=JWE", TokenResponse.class)
+                            .getAccessToken();
+                    client.toBlocking().exchange(HttpRequest.POST("/JWTTestKit/decode",
+                            jwe.substring(0, jwe.lastIndexOf('.') + 1) + "AAAAAAAAAAAAAAAAAAAAAA")
+                            .contentType(MediaType.TEXT_PLAIN), Map.class);
+                });
+        Assertions.assertEquals(400, tampered.getStatus().getCode());
+    }
+
+    @Test
+    void testSampleTokenEndpoint_withUnknownAlgorithm() {
+        try {
+            client.toBlocking().exchange("/JWTTestKit/token?alg=none", Map.class);
+            Assertions.fail("Expected HttpClientResponseException to be thrown");
+        } catch (HttpClientResponseException e) {
+            Assertions.assertEquals(400, e.getStatus().getCode());
+        }
+    }
+
+    @Test
+    void testKeysEndpoint_listsEveryAsymmetricKey() {
+        Map<String, Object> keys = client.toBlocking().retrieve("/JWTTestKit/keys", Map.class);
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) keys.get("keys");
+
+        Assertions.assertEquals(9, entries.size());
+        Assertions.assertTrue(entries.stream().noneMatch(entry -> "HS256".equals(entry.get("alg"))));
+        Assertions.assertTrue(entries.stream().anyMatch(entry -> "RSA-OAEP-256".equals(entry.get("alg"))));
+        Assertions.assertTrue(entries.stream().anyMatch(entry -> "ECDH-ES+A256KW".equals(entry.get("alg"))));
+    }
+
+    @Test
+    void testTokenBatchEndpoint() throws ParseException {
+        Map<String, Object> batch = Map.of("type", "okta", "count", 5, "claims", Map.of("sub", "batch-user"));
+
+        HttpRequest<Map> request = HttpRequest.POST("/JWTTestKit/token/batch", batch);
+        HttpResponse<List> response = client.toBlocking().exchange(request, List.class);
+        Assertions.assertEquals(200, response.code());
+
+        List<Map<String, Object>> tokens = response.body();
+        Assertions.assertNotNull(tokens);
+        Assertions.assertEquals(5, tokens.size());
+        Assertions.assertEquals(5, tokens.stream().map(token -> token.get("access_token")).distinct().count());
+        for (Map<String, Object> token : tokens) {
+            SignedJWT jwt = SignedJWT.parse(token.get("access_token").toString());
+            Assertions.assertEquals("batch-user", jwt.getJWTClaimsSet().getSubject());
+        }
+    }
+
+    @Test
+    void testTokenBatchEndpoint_invalidCount() {
+        Map<String, Object> batch = Map.of("type", "custom", "count", 0, "claims", Map.of("sub", "batch-user"));
+
+        HttpRequest<Map> request = HttpRequest.POST("/JWTTestKit/token/batch", batch);
+        try {
+            client.toBlocking().exchange(request, List.class);
+            Assertions.fail("Expected HttpClientResponseException to be thrown");
+        } catch (HttpClientResponseException e) {
+            Assertions.assertEquals(400, e.getStatus().getCode());
+        }
+    }
+
+    @Test
+    void testTokenStreamEndpoint() throws ParseException {
+        Map<String, Object> batch = Map.of("type", "aws-cognito", "count", 3, "claims", Map.of("scope", "stream"));
+
+        HttpRequest<Map> request = HttpRequest.POST("/JWTTestKit/token/stream", batch)
+                .accept("application/x-ndjson");
+        HttpResponse<String> response = client.toBlocking().exchange(request, String.class);
+        Assertions.assertEquals(200, response.code());
+
+        String[] lines = response.body().strip().split("\n");
+        Assertions.assertEquals(3, lines.length);
+        for (String line : lines) {
+            String accessToken = line.replaceAll(".*\"access_token\":\"([^\"]+)\".*", "$1");
+            Assertions.assertEquals("stream", SignedJWT.parse(accessToken).getJWTClaimsSet().getStringClaim("scope"));
+        }
+    }
+
+    @Test
+    void testRotateKeysEndpoint() throws ParseException {
+        Map<String, Object> before = client.toBlocking().retrieve("/JWTTestKit/token?alg=ES384", Map.class);
+        String oldKid = SignedJWT.parse(before.get("access_token").toString()).getHeader().getKeyID();
+
+        HttpResponse<Map> rotated = client.toBlocking().exchange(
+                HttpRequest.POST("/JWTTestKit/keys/rotate?alg=ES384", ""), Map.class);
+        Assertions.assertEquals(200, rotated.code());
+
+        Map<String, Object> after = client.toBlocking().retrieve("/JWTTestKit/token?alg=ES384", Map.class);
+        String newKid = SignedJWT.parse(after.get("access_token").toString()).getHeader().getKeyID();
+        Assertions.assertNotEquals(oldKid, newKid);
+
+        JWKSet jwks = JWKSet.parse(client.toBlocking().retrieve("/JWTTestKit/jwks", Map.class));
+        Assertions.assertNotNull(jwks.getKeyByKeyId(oldKid), "Retired key must stay in the JWKS");
+        Assertions.assertNotNull(jwks.getKeyByKeyId(newKid));
+
+        Map<String, Object> byKid = client.toBlocking().retrieve("/JWTTestKit/token?kid=" + newKid, Map.class);
+        Assertions.assertEquals(newKid,
+                SignedJWT.parse(byKid.get("access_token").toString()).getHeader().getKeyID());
+
+        try {
+            client.toBlocking().exchange("/JWTTestKit/token?kid=" + oldKid, Map.class);
+            Assertions.fail("Expected HttpClientResponseException to be thrown");
+        } catch (HttpClientResponseException e) {
+            Assertions.assertEquals(400, e.getStatus().getCode());
+        }
+    }
+
+    @Test
+    void testSecretEndpoint_validatesBearerTokenAgainstKeyRing() {
+        for (String alg : List.of("RS256", "ES256", "EdDSA")) {
+            TokenResponse token = client.toBlocking().retrieve("/JWTTestKit/token?alg=" + alg, TokenResponse.class);
+            String secret = client.toBlocking().retrieve(HttpRequest.GET("/secret")
+                    .bearerAuth(token.getAccessToken()), String.class);
+            Assertions.assertEquals("Secret message", secret, alg);
+        }
+
+        TokenResponse token = client.toBlocking().retrieve("/JWTTestKit/token", TokenResponse.class);
+        String tampered = token.getAccessToken().substring(0, token.getAccessToken().lastIndexOf('.') + 1) + "AAAA";
+        HttpClientResponseException e = Assertions.assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.GET("/secret").bearerAuth(tampered), String.class));
+        Assertions.assertEquals(401, e.getStatus().getCode());
+    }
+
+    @Test
+    void testMetrics() {
+        double signed = meterRegistry.find("jwttestkit.tokens.issued").tag("provider", "okta").tag("alg", "ES256")
+            .counters().stream().mapToDouble(Counter::count).sum();
+        client.toBlocking().retrieve(HttpRequest.POST("/JWTTestKit/token/okta?alg=ES256", Map.of("sub", "user")),
+                TokenResponse.class);
+        Assertions.assertEquals(signed + 1, meterRegistry.get("jwttestkit.tokens.issued").tag("provider", "okta")
+            .tag("alg", "ES256").counter().count());
+        Assertions.assertTrue(meterRegistry.get("jwttestkit.sign").tag("provider", "okta").tag("alg", "ES256")
+            .timer().count() > 0);
+
+        double rejected = meterRegistry.get("jwttestkit.requests.rejected").counter().count();
+        double failures = meterRegistry.get("jwttestkit.decode.failures").tag("endpoint", "single")
+            .tag("mode", "FULL").counter().count();
+        Assertions.assertThrows(HttpClientResponseException.class, () -> client.toBlocking().exchange(
+                HttpRequest.POST("/JWTTestKit/decode", "not-a-jwt").contentType(MediaType.TEXT_PLAIN)));
+        Assertions.assertEquals(rejected + 1, meterRegistry.get("jwttestkit.requests.rejected").counter().count());
+        Assertions.assertEquals(failures + 1, meterRegistry.get("jwttestkit.decode.failures")
+            .tag("endpoint", "single").tag("mode", "FULL").counter().count());
+
+        double hits = meterRegistry.get("jwttestkit.jwks.requests").tag("cache", "hit").counter().count();
+        HttpResponse<Map> jwks = client.toBlocking().exchange("/JWTTestKit/jwks", Map.class);
+        client.toBlocking().exchange(HttpRequest.GET("/JWTTestKit/jwks")
+                .header(HttpHeaders.IF_NONE_MATCH, jwks.header(HttpHeaders.ETAG)));
+        Assertions.assertEquals(hits + 1, meterRegistry.get("jwttestkit.jwks.requests").tag("cache", "hit")
+            .counter().count());
+
+        Assertions.assertNotNull(meterRegistry.find("jwttestkit.executor.queue").gauge());
+        Assertions.assertNotNull(meterRegistry.find("jwttestkit.pool.size").gauge());
+    }
 }
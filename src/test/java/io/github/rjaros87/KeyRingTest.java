@@ -0,0 +1,243 @@
+package io.github.rjaros87;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import io.github.rjaros87.jwttestkit.keys.EncryptionAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.EncryptionKey;
+import io.github.rjaros87.jwttestkit.keys.JcaEdDSAVerifier;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.KeyRingChangedEvent;
+import io.github.rjaros87.jwttestkit.keys.KeyRingConfiguration;
+import io.github.rjaros87.jwttestkit.keys.KeySet;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningConfiguration;
+import io.github.rjaros87.jwttestkit.keys.SigningKey;
+import io.github.rjaros87.jwttestkit.keys.SigningKeys;
+import io.micronaut.context.exceptions.ConfigurationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class KeyRingTest {
+
+    private final List<KeyRingChangedEvent> events = new ArrayList<>();
+
+    private KeyRing keyRing(int size, Duration gracePeriod) throws JOSEException {
+        KeyRingConfiguration configuration = new KeyRingConfiguration();
+        configuration.setSize(size);
+        configuration.setGracePeriod(gracePeriod);
+        return keyRing(configuration);
+    }
+
+    private KeyRing keyRing(KeyRingConfiguration configuration) throws JOSEException {
+        SigningConfiguration signingConfiguration = new SigningConfiguration();
+        signingConfiguration.setAlgorithm(SigningAlgorithm.ES256);
+        return new KeyRing(signingConfiguration, configuration, events::add);
+    }
+
+    @Test
+    void testRotationKeepsRingSizeAndPublishesRetiredKeys() throws JOSEException {
+        KeyRing keyRing = keyRing(2, Duration.ofMinutes(5));
+        List<SigningKey> initial = keyRing.current().getActiveKeys().get(SigningAlgorithm.ES256);
+        Assertions.assertEquals(2, initial.size());
+
+        KeySet rotated = keyRing.rotate(null);
+        SigningKey newest = rotated.getCurrentKey(SigningAlgorithm.ES256);
+        SigningKey retired = initial.get(1);
+
+        Assertions.assertEquals(2, rotated.getActiveKeys().get(SigningAlgorithm.ES256).size());
+        Assertions.assertNotEquals(initial.get(0).getKeyId(), newest.getKeyId());
+        Assertions.assertNull(rotated.getActiveKey(retired.getKeyId()), "Retired key must not sign");
+        Assertions.assertNotNull(rotated.getKey(retired.getKeyId()), "Retired key must stay published");
+        Assertions.assertEquals(3, rotated.getPublicKeys().size());
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertSame(rotated, events.get(0).getKeySet());
+    }
+
+    @Test
+    void testRetiredKeysArePurgedAfterGracePeriod() throws JOSEException {
+        KeyRing keyRing = keyRing(1, Duration.ZERO);
+        SigningKey initial = keyRing.current().getCurrentKey(SigningAlgorithm.ES256);
+        String initialEtag = keyRing.current().getJwksDocument().getEtag();
+
+        keyRing.rotate(SigningAlgorithm.ES256);
+        KeySet current = keyRing.current();
+
+        Assertions.assertNull(current.getKey(initial.getKeyId()));
+        Assertions.assertEquals(1, current.getPublicKeys().size());
+        Assertions.assertNotEquals(initialEtag, current.getJwksDocument().getEtag());
+        Assertions.assertEquals(2, events.size(), "Expected rotation and purge events");
+    }
+
+    @Test
+    void testRotationOfDisabledAlgorithmFails() throws JOSEException {
+        KeyRing keyRing = keyRing(1, Duration.ZERO);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> keyRing.rotate(SigningAlgorithm.RS512));
+    }
+
+    @Test
+    void testSeededKeyRingsGenerateIdenticalKeys() throws JOSEException {
+        KeyRingConfiguration configuration = new KeyRingConfiguration();
+        configuration.setSeed("replica-seed");
+
+        KeyRing first = keyRing(configuration);
+        KeyRing second = keyRing(configuration);
+        Assertions.assertEquals(first.current().getJwksDocument().getEtag(),
+                second.current().getJwksDocument().getEtag());
+
+        SigningKey rotated = first.rotate(SigningAlgorithm.ES256).getCurrentKey(SigningAlgorithm.ES256);
+        Assertions.assertEquals(rotated.getPublicJwk(),
+                second.rotate(SigningAlgorithm.ES256).getCurrentKey(SigningAlgorithm.ES256).getPublicJwk());
+    }
+
+    @Test
+    void testKeysAreLoadedFromMaterial() throws JOSEException {
+        SigningKey exported = SigningKeys.generate(SigningAlgorithm.ES256, "exported", new SigningConfiguration());
+        KeyRingConfiguration configuration = new KeyRingConfiguration();
+        configuration.setMaterial(new JWKSet(exported.getJwk()).toString(false));
+
+        KeyRing keyRing = keyRing(configuration);
+        SigningKey loaded = keyRing.current().getCurrentKey(SigningAlgorithm.ES256);
+        Assertions.assertEquals("exported", loaded.getKeyId());
+        Assertions.assertEquals(exported.getPublicJwk(), loaded.getPublicJwk());
+    }
+
+    @Test
+    void testSignedTokensReuseEncodedHeader() throws Exception {
+        SigningKey signingKey = keyRing(1, Duration.ZERO).current().getCurrentKey(SigningAlgorithm.ES256);
+
+        String first = signingKey.sign(JOSEObjectType.JWT, "{\"sub\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+        String second = signingKey.sign(JOSEObjectType.JWT, "{\"sub\":\"b\"}".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(first.substring(0, first.indexOf('.')), second.substring(0, second.indexOf('.')));
+
+        JWSObject parsed = JWSObject.parse(second);
+        Assertions.assertEquals(signingKey.getKeyId(), parsed.getHeader().getKeyID());
+        Assertions.assertEquals(JOSEObjectType.JWT, parsed.getHeader().getType());
+        Assertions.assertEquals("b", parsed.getPayload().toJSONObject().get("sub"));
+        Assertions.assertTrue(parsed.verify(new ECDSAVerifier(signingKey.getJwk().toECKey())));
+    }
+
+    @Test
+    void testSignersAreReusedAcrossPlatformAndVirtualThreads() throws Exception {
+        for (SigningAlgorithm algorithm : List.of(SigningAlgorithm.RS256, SigningAlgorithm.PS256,
+                SigningAlgorithm.ES256, SigningAlgorithm.ES384, SigningAlgorithm.EdDSA)) {
+            SigningKey signingKey = SigningKeys.generate(algorithm, "reuse", new SigningConfiguration());
+            JWSVerifier verifier = switch (algorithm) {
+                case ES256, ES384 -> new ECDSAVerifier(signingKey.getJwk().toECKey());
+                case EdDSA -> new JcaEdDSAVerifier(signingKey.getPublicKey());
+                default -> new RSASSAVerifier(signingKey.getJwk().toRSAKey());
+            };
+
+            for (ExecutorService executor : List.of(Executors.newFixedThreadPool(4),
+                    Executors.newVirtualThreadPerTaskExecutor())) {
+                try (executor) {
+                    List<Future<String>> tokens = new ArrayList<>();
+                    for (int i = 0; i < 32; i++) {
+                        byte[] payload = ("{\"sub\":\"user" + i + "\"}").getBytes(StandardCharsets.UTF_8);
+                        tokens.add(executor.submit(() -> signingKey.sign(JOSEObjectType.JWT, payload)));
+                    }
+                    for (int i = 0; i < tokens.size(); i++) {
+                        JWSObject parsed = JWSObject.parse(tokens.get(i).get());
+                        Assertions.assertEquals("user" + i, parsed.getPayload().toJSONObject().get("sub"));
+                        Assertions.assertTrue(parsed.verify(verifier), algorithm + " token must verify");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRsaKeySizeIsConfigurablePerKey() throws JOSEException {
+        SigningConfiguration signingConfiguration = new SigningConfiguration();
+        signingConfiguration.setRsaKeySize(1024);
+        KeyRingConfiguration configuration = new KeyRingConfiguration();
+        configuration.setSize(2);
+        KeyRing keyRing = new KeyRing(signingConfiguration, configuration, events::add);
+
+        SigningKey fast = keyRing.current().getCurrentKey(SigningAlgorithm.RS256);
+        Assertions.assertEquals(1024, fast.getJwk().size());
+        Assertions.assertInstanceOf(RSAPrivateCrtKey.class, fast.getPrivateKey());
+
+        KeySet rotated = keyRing.rotate(SigningAlgorithm.RS256, 3072);
+        Assertions.assertEquals(3072, rotated.getCurrentKey(SigningAlgorithm.RS256).getJwk().size());
+        Assertions.assertNotNull(rotated.getActiveKey(fast.getKeyId()), "Keys of different sizes stay active");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> keyRing.rotate(SigningAlgorithm.RS256, 512));
+
+        signingConfiguration.setRsaKeySize(1000);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new KeyRing(signingConfiguration, configuration, events::add));
+    }
+
+    @Test
+    void testLoadedRsaKeysGetCrtParameters() throws Exception {
+        RSAKey generated = new RSAKeyGenerator(2048).generate();
+        RSAKey withoutCrt = new RSAKey.Builder(generated.getModulus(), generated.getPublicExponent())
+                .privateExponent(generated.getPrivateExponent())
+                .keyID("no-crt")
+                .build();
+
+        SigningKey signingKey = SigningKeys.fromJwk(withoutCrt, SigningAlgorithm.RS256);
+        RSAPrivateCrtKey privateKey = Assertions.assertInstanceOf(RSAPrivateCrtKey.class,
+                signingKey.getPrivateKey());
+        Assertions.assertEquals(Set.of(generated.getFirstPrimeFactor().decodeToBigInteger(),
+                generated.getSecondPrimeFactor().decodeToBigInteger()),
+                Set.of(privateKey.getPrimeP(), privateKey.getPrimeQ()));
+
+        String token = signingKey.sign(JOSEObjectType.JWT, "{\"sub\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(JWSObject.parse(token).verify(new RSASSAVerifier(withoutCrt.toPublicJWK())));
+    }
+
+    @Test
+    void testEncryptionPrimitivesAreReusedOnVirtualThreads() throws Exception {
+        for (EncryptionAlgorithm algorithm : EncryptionAlgorithm.values()) {
+            EncryptionKey encryptionKey = EncryptionKey.generate(algorithm, "enc", null);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<String>> tokens = new ArrayList<>();
+                for (int i = 0; i < 32; i++) {
+                    String jws = "header.payload" + i + ".signature";
+                    tokens.add(executor.submit(() -> encryptionKey.encrypt(jws)));
+                }
+                for (int i = 0; i < tokens.size(); i++) {
+                    JWEObject jwe = JWEObject.parse(tokens.get(i).get());
+                    jwe.decrypt(encryptionKey.getDecrypter());
+                    Assertions.assertEquals("header.payload" + i + ".signature", jwe.getPayload().toString(),
+                            algorithm.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLazyKeyRingCreatesKeysOnFirstUse() throws JOSEException {
+        KeyRingConfiguration configuration = new KeyRingConfiguration();
+        configuration.setLazy(true);
+        configuration.setMaterial("not a key");
+        KeyRing broken = keyRing(configuration);
+        Assertions.assertThrows(ConfigurationException.class, broken::current, "Keys must be loaded on first use");
+
+        KeyRingConfiguration lazy = new KeyRingConfiguration();
+        lazy.setLazy(true);
+        lazy.setSeed("startup");
+        KeyRingConfiguration eager = new KeyRingConfiguration();
+        eager.setSeed("startup");
+        Assertions.assertEquals(keyRing(eager).current().getJwksDocument().getEtag(),
+                keyRing(lazy).current().getJwksDocument().getEtag());
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.rjaros87;
+
+import io.github.rjaros87.jwttestkit.model.LoadReport;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+@MicronautTest
+@Property(name = "jwttestkit.load.enabled", value = "true")
+class LoadGeneratorTest {
+
+    @Inject
+    EmbeddedServer server;
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Test
+    void testRunAgainstSecretEndpoint() throws InterruptedException {
+        HttpResponse<LoadReport> started = client.toBlocking().exchange(HttpRequest.POST("/JWTTestKit/load", Map.of(
+                "url", server.getURL() + "/secret",
+                "concurrency", 4,
+                "duration", 1,
+                "type", "okta",
+                "claims", Map.of("groups", List.of("Admins")))), LoadReport.class);
+        Assertions.assertEquals(202, started.code());
+        String id = started.body().id();
+
+        LoadReport report = started.body();
+        for (int i = 0; i < 100 && report.state() == LoadReport.State.RUNNING; i++) {
+            Thread.sleep(100);
+            report = client.toBlocking().retrieve("/JWTTestKit/load/" + id, LoadReport.class);
+        }
+
+        Assertions.assertEquals(LoadReport.State.COMPLETED, report.state());
+        Assertions.assertTrue(report.requests() > 0);
+        Assertions.assertEquals(0, report.errors(), "Tokens minted in-process must authenticate: " + report);
+        Assertions.assertEquals(report.requests(), report.statuses().get(200));
+        Assertions.assertTrue(report.latency().max() >= report.latency().p50());
+
+        String histogram = client.toBlocking().retrieve("/JWTTestKit/load/" + id + "/histogram");
+        Assertions.assertTrue(histogram.contains("Percentile"), histogram);
+    }
+
+    @Test
+    void testInvalidScenarioIsRejected() {
+        HttpClientResponseException e = Assertions.assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.POST("/JWTTestKit/load",
+                        Map.of("url", "ftp://example.com", "duration", 1))));
+        Assertions.assertEquals(400, e.getStatus().getCode());
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.rjaros87;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSObject;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.KeyRingConfiguration;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.keys.SigningConfiguration;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.model.TokenResponse;
+import io.github.rjaros87.jwttestkit.utils.SampleTokenPool;
+import io.github.rjaros87.jwttestkit.utils.TokenPoolConfiguration;
+import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class SampleTokenPoolTest {
+
+    @Test
+    void testPoolIsFilledAndServesTokens() throws Exception {
+        try (ApplicationContext context = ApplicationContext.run(Map.of(
+                "jwttestkit.pool.enabled", true,
+                "jwttestkit.pool.size", 10,
+                "jwttestkit.pool.low-watermark", 5))) {
+            SampleTokenPool pool = context.getBean(SampleTokenPool.class);
+            for (int i = 0; i < 100 && pool.size() < 10; i++) {
+                Thread.sleep(50);
+            }
+            Assertions.assertEquals(10, pool.size());
+
+            TokenResponse response = pool.poll(SigningOptions.defaults());
+            Assertions.assertNotNull(response);
+            Assertions.assertNotNull(response.getAccessToken());
+            Assertions.assertEquals(9, pool.size());
+
+            KeyRing keyRing = context.getBean(KeyRing.class);
+            String kid = keyRing.rotate(null).getCurrentKey(keyRing.getDefaultAlgorithm()).getKeyId();
+            TokenResponse pooled = pool.poll(SigningOptions.defaults());
+            for (int i = 0; i < 100 && pooled == null; i++) {
+                Thread.sleep(50);
+                pooled = pool.poll(SigningOptions.defaults());
+            }
+            Assertions.assertNotNull(pooled, "Pool must be refilled after rotation");
+            JWSObject rotated = JWSObject.parse(pooled.getAccessToken());
+            Assertions.assertEquals(kid, rotated.getHeader().getKeyID(), "Pooled tokens of old keys must be dropped");
+            Assertions.assertNull(pool.poll(SigningOptions.of(keyRing.getDefaultAlgorithm())),
+                    "Requests for a specific algorithm are signed inline");
+        }
+    }
+
+    @Test
+    void testDisabledPoolServesNothing() {
+        SigningConfiguration signingConfiguration = new SigningConfiguration();
+        signingConfiguration.setAlgorithm(SigningAlgorithm.ES256);
+        KeyRing keyRing = new KeyRing(signingConfiguration, new KeyRingConfiguration(), event -> { });
+        SampleTokenPool pool = new SampleTokenPool(new TokenSigner(new ObjectMapper(), keyRing),
+                new TokenPoolConfiguration());
+
+        Assertions.assertNull(pool.poll(SigningOptions.defaults()));
+        Assertions.assertEquals(0, pool.size());
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.rjaros87;
+
+import io.github.rjaros87.jwttestkit.utils.SigningExecutor;
+import io.github.rjaros87.jwttestkit.utils.SigningExecutorConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+class SigningExecutorTest {
+
+    @Test
+    void testSaturatedExecutorRejectsTasks() throws Exception {
+        for (SigningExecutorConfiguration.Type type : SigningExecutorConfiguration.Type.values()) {
+            assertRejectsWhenSaturated(type);
+        }
+    }
+
+    @Test
+    void testTaskExceptionIsNotWrapped() {
+        for (SigningExecutorConfiguration.Type type : SigningExecutorConfiguration.Type.values()) {
+            assertExceptionIsNotWrapped(type);
+        }
+    }
+
+    private void assertRejectsWhenSaturated(SigningExecutorConfiguration.Type type) throws Exception {
+        SigningExecutorConfiguration configuration = new SigningExecutorConfiguration();
+        configuration.setType(type);
+        configuration.setThreads(1);
+        configuration.setQueueSize(0);
+        SigningExecutor executor = new SigningExecutor(configuration);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = executor.submit(() -> {
+            release.await();
+            return "signed";
+        });
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> "rejected"),
+                type.name());
+
+        release.countDown();
+        Assertions.assertEquals("signed", running.get());
+    }
+
+    private void assertExceptionIsNotWrapped(SigningExecutorConfiguration.Type type) {
+        SigningExecutorConfiguration configuration = new SigningExecutorConfiguration();
+        configuration.setType(type);
+        SigningExecutor executor = new SigningExecutor(configuration);
+
+        CompletableFuture<String> failed = executor.submit(() -> {
+            throw new IllegalArgumentException("Token sub cannot be null");
+        });
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, failed::get);
+        Assertions.assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.rjaros87;
+
+import com.nimbusds.jose.JWSObject;
+import io.github.rjaros87.jwttestkit.keys.KeyRing;
+import io.github.rjaros87.jwttestkit.keys.SigningAlgorithm;
+import io.github.rjaros87.jwttestkit.model.SigningOptions;
+import io.github.rjaros87.jwttestkit.model.okta.OktaToken;
+import io.github.rjaros87.jwttestkit.utils.TokenSigner;
+import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class TokenCacheTest {
+
+    @Test
+    void testReproducibleClaimsAreSignedOnce() throws Exception {
+        try (ApplicationContext context = ApplicationContext.run(Map.of(
+                "jwttestkit.cache.enabled", true,
+                "jwttestkit.signing.algorithm", "ES256"))) {
+            TokenSigner tokenSigner = context.getBean(TokenSigner.class);
+            SigningOptions options = SigningOptions.of(SigningAlgorithm.ES256);
+
+            // ECDSA signatures are randomized, so equal tokens can only come from the cache
+            String first = tokenSigner.sign(fullOktaToken(), options).getAccessToken();
+            Assertions.assertEquals(first, tokenSigner.sign(fullOktaToken(), options).getAccessToken());
+
+            OktaToken partial = new OktaToken("user", null, null, null, null, 4102444800L, 1700000000L, null, null);
+            Assertions.assertNotEquals(tokenSigner.sign(partial, options).getAccessToken(),
+                    tokenSigner.sign(partial, options).getAccessToken());
+
+            KeyRing keyRing = context.getBean(KeyRing.class);
+            String kid = keyRing.rotate(SigningAlgorithm.ES256).getCurrentKey(SigningAlgorithm.ES256).getKeyId();
+            String rotated = tokenSigner.sign(fullOktaToken(), options).getAccessToken();
+            Assertions.assertNotEquals(first, rotated);
+            Assertions.assertEquals(kid, JWSObject.parse(rotated).getHeader().getKeyID());
+        }
+    }
+
+    private static OktaToken fullOktaToken() {
+        return new OktaToken("user", "Jane", "jane", "jane@example.com", List.of("Everyone"), 4102444800L,
+                1700000000L, "https://example.okta.com", "api://default");
+    }
+}